@@ -0,0 +1,99 @@
+package ch09.benchmarks;
+
+import ch09.examples.ObjectIntMap;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link ObjectIntMap} with the {@code LinkedHashMap<String, Integer>} of
+ * {@code SetQueueMapExamples.mapOperations} on the workload it is meant for: counting one million
+ * keys drawn from {@code distinct} values with {@code merge(key, 1, Integer::sum)}, and looking the
+ * same keys up again in a populated map.
+ *
+ * <p>Both maps start at their default capacity, so the counting benchmarks include resizing. Run
+ * with {@code -prof gc} to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ObjectIntMapBenchmark {
+
+    private static final int OPERATIONS = 1_000_000;
+
+    @Param({"1000", "100000", "1000000"})
+    private int distinct;
+
+    private String[] keys;
+    private Map<String, Integer> linkedHashMap;
+    private ObjectIntMap<String> objectIntMap;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] vocabulary = new String[distinct];
+        for (int i = 0; i < distinct; i++) {
+            vocabulary[i] = "key-" + i;
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        keys = new String[OPERATIONS];
+        for (int i = 0; i < OPERATIONS; i++) {
+            keys[i] = vocabulary[random.nextInt(distinct)];
+        }
+        linkedHashMap = countWithLinkedHashMap();
+        objectIntMap = countWithObjectIntMap();
+    }
+
+    @Benchmark
+    public Map<String, Integer> countWithLinkedHashMap() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (String key : keys) {
+            counts.merge(key, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    @Benchmark
+    public ObjectIntMap<String> countWithObjectIntMap() {
+        ObjectIntMap<String> counts = new ObjectIntMap<>();
+        for (String key : keys) {
+            counts.merge(key, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    @Benchmark
+    public long lookupInLinkedHashMap() {
+        long total = 0;
+        for (String key : keys) {
+            total += linkedHashMap.get(key);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long lookupInObjectIntMap() {
+        long total = 0;
+        for (String key : keys) {
+            total += objectIntMap.getInt(key);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,54 @@
+package ch10.benchmarks;
+
+import ch10.examples.PrimitiveStreamExamples;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link PrimitiveStreamExamples#productExact(long, long)} with the naive reductions it
+ * replaces: the overflowing {@code long} reduce of {@code productUsingLongStream} (fast but wrong
+ * past {@code 20!}) and a left-to-right {@code BigInteger} reduce (correct but quadratic, because
+ * every step multiplies one ever-growing number by a small one).
+ *
+ * <p>{@code count} is the length of the range {@code 1..count}, so each run computes
+ * {@code count!}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductBenchmark {
+
+    @Param({"20", "1000", "20000", "100000"})
+    private long count;
+
+    @Benchmark
+    public long longReduce() {
+        return PrimitiveStreamExamples.productUsingLongStream(1, count);
+    }
+
+    @Benchmark
+    public BigInteger bigIntegerReduce() {
+        return LongStream.rangeClosed(1, count).mapToObj(BigInteger::valueOf).reduce(BigInteger.ONE, BigInteger::multiply);
+    }
+
+    @Benchmark
+    public BigInteger productExact() {
+        return PrimitiveStreamExamples.productExact(1, count);
+    }
+}
@@ -0,0 +1,55 @@
+package ch10.benchmarks;
+
+import ch10.examples.StreamPipelineExamples;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link StreamPipelineExamples#reduceConcatenate} on its own, split from
+ * {@link StreamPipelineBenchmark} because repeated string concatenation is quadratic in the input
+ * size: the default sweep stops at 1e4 words so that a plain run of the jar finishes. Larger sizes
+ * can still be requested explicitly with {@code -p size=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ReduceConcatenateBenchmark {
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    @Param({"sequential", "parallel"})
+    private String mode;
+
+    private List<String> words;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        words = WordLists.randomWords(size);
+    }
+
+    @Benchmark
+    public Optional<String> reduceConcatenate() {
+        Stream<String> source = "parallel".equals(mode) ? words.parallelStream() : words.stream();
+        return StreamPipelineExamples.reduceConcatenate(source);
+    }
+}
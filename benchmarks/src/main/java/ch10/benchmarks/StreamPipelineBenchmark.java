@@ -0,0 +1,90 @@
+package ch10.benchmarks;
+
+import ch10.examples.IntKeyedGroups;
+import ch10.examples.StreamPipelineExamples;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH harness for every pipeline in {@link StreamPipelineExamples}. Each benchmark runs against
+ * word lists from 1e3 to 1e7 entries, once from a sequential source and once from a parallel one,
+ * so the scaling of each collector/reduction can be compared side by side.
+ *
+ * <p>{@code reduceConcatenate} is quadratic in the input size and lives in
+ * {@link ReduceConcatenateBenchmark}, whose default sizes stop at 1e4.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class StreamPipelineBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"sequential", "parallel"})
+    private String mode;
+
+    @Param({"100"})
+    private long limit;
+
+    private List<String> words;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        words = WordLists.randomWords(size);
+    }
+
+    private Stream<String> source() {
+        return "parallel".equals(mode) ? words.parallelStream() : words.stream();
+    }
+
+    @Benchmark
+    public List<String> mapAndFilter() {
+        return StreamPipelineExamples.mapAndFilter(source());
+    }
+
+    @Benchmark
+    public Map<Integer, List<String>> groupingByLength() {
+        return StreamPipelineExamples.groupingByLength(source());
+    }
+
+    @Benchmark
+    public IntKeyedGroups<String> groupingByLengthUnboxed() {
+        return StreamPipelineExamples.groupingByLengthUnboxed(source());
+    }
+
+    @Benchmark
+    public Map<Boolean, List<String>> partitionByLength() {
+        return StreamPipelineExamples.partitionByLength(source());
+    }
+
+    @Benchmark
+    public Map<Integer, String> toMapWithMerge() {
+        return StreamPipelineExamples.toMapWithMerge(source());
+    }
+
+    @Benchmark
+    public Set<String> sortedDistinctCapped() {
+        return StreamPipelineExamples.sortedDistinctCapped(source(), limit);
+    }
+}
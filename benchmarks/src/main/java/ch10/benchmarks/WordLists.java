@@ -0,0 +1,34 @@
+package ch10.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Builds deterministic word lists for the Chapter 10 stream benchmarks. Words are lower-case ASCII
+ * with lengths between 1 and 12 so that grouping and partitioning produce a realistic spread of
+ * buckets, and a fixed seed keeps runs comparable across forks.
+ */
+public final class WordLists {
+
+    private static final long SEED = 0x5EED_CAFEL;
+
+    private WordLists() {
+    }
+
+    /** @return {@code size} pseudo-random words, padded with leading/trailing blanks every 8th entry. */
+    public static List<String> randomWords(int size) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<String> words = new ArrayList<>(size);
+        char[] buffer = new char[12];
+        for (int i = 0; i < size; i++) {
+            int length = 1 + random.nextInt(buffer.length);
+            for (int c = 0; c < length; c++) {
+                buffer[c] = (char) ('a' + random.nextInt(26));
+            }
+            String word = new String(buffer, 0, length);
+            words.add(i % 8 == 0 ? " " + word + " " : word);
+        }
+        return words;
+    }
+}
@@ -0,0 +1,68 @@
+package ch13.benchmarks;
+
+import ch13.examples.StripedCounter;
+import ch13.examples.SynchronizationExamples;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares increment throughput of the monitor-guarded {@link SynchronizationExamples.Counter}, a
+ * single shared {@link AtomicInteger} (the primitive behind
+ * {@link SynchronizationExamples#atomicCounter(int)}), and {@link StripedCounter}. All threads of a
+ * trial hit the same counter instance; run {@link #main(String[])} to sweep 1 to 64 threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CounterBenchmark {
+
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+
+    private final SynchronizationExamples.Counter synchronizedCounter = new SynchronizationExamples.Counter();
+    private final AtomicInteger atomicCounter = new AtomicInteger();
+    private final StripedCounter stripedCounter = new StripedCounter();
+
+    @Benchmark
+    public void synchronizedIncrement() {
+        synchronizedCounter.increment();
+    }
+
+    @Benchmark
+    public int atomicIncrement() {
+        return atomicCounter.incrementAndGet();
+    }
+
+    @Benchmark
+    public void stripedIncrement() {
+        stripedCounter.increment();
+    }
+
+    /** Runs every counter benchmark once per entry of the 1–64 thread sweep. */
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREAD_COUNTS) {
+            Options options = new OptionsBuilder()
+                .include(CounterBenchmark.class.getSimpleName())
+                .threads(threads)
+                .build();
+            new Runner(options).run();
+        }
+    }
+}
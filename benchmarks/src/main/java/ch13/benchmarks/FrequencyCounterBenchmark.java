@@ -0,0 +1,98 @@
+package ch13.benchmarks;
+
+import ch13.examples.ConcurrentFrequencyCounter;
+import ch13.examples.SynchronizationExamples;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares word-count throughput of the {@code ConcurrentHashMap<String, Integer>} pattern from
+ * {@link SynchronizationExamples#concurrentMapUsage()}, updated with
+ * {@code merge(word, 1, Integer::sum)}, against {@link ConcurrentFrequencyCounter}. All threads of a
+ * trial count into the same instance.
+ *
+ * <p>Words are drawn from a vocabulary of {@code vocabulary} entries with a skew that sends about a
+ * fifth of the increments to the first percent of the words and almost half to the first tenth, so
+ * a handful of hot keys dominate as they do in natural text. Run {@link #main(String[])} to sweep 1 to 64 threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrequencyCounterBenchmark {
+
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+    private static final int SAMPLE_SIZE = 1 << 16;
+
+    @Param({"10000"})
+    private int vocabulary;
+
+    private String[] sample;
+    private ConcurrentMap<String, Integer> boxedCounts;
+    private ConcurrentFrequencyCounter<String> counter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] words = new String[vocabulary];
+        for (int i = 0; i < vocabulary; i++) {
+            words[i] = "word-" + i;
+        }
+        SplittableRandom random = new SplittableRandom(7);
+        sample = new String[SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            // Cubing a uniform fraction concentrates draws on the low indexes.
+            double u = random.nextDouble();
+            sample[i] = words[(int) (u * u * u * vocabulary)];
+        }
+        boxedCounts = new ConcurrentHashMap<>();
+        counter = new ConcurrentFrequencyCounter<>();
+    }
+
+    @Benchmark
+    public Integer concurrentHashMapMerge() {
+        return boxedCounts.merge(nextWord(), 1, Integer::sum);
+    }
+
+    @Benchmark
+    public void frequencyCounterIncrement() {
+        counter.increment(nextWord());
+    }
+
+    private String nextWord() {
+        return sample[ThreadLocalRandom.current().nextInt(SAMPLE_SIZE)];
+    }
+
+    /** Runs both benchmarks once per entry of the 1–64 thread sweep. */
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREAD_COUNTS) {
+            Options options = new OptionsBuilder()
+                .include(FrequencyCounterBenchmark.class.getSimpleName())
+                .threads(threads)
+                .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package ch13.benchmarks;
+
+import ch13.examples.MpmcArrayQueue;
+
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Hand-off throughput of {@link MpmcArrayQueue} against {@link ArrayBlockingQueue} and
+ * {@link ConcurrentLinkedQueue}, with producers and consumers running concurrently in one JMH
+ * group on the same queue. Both sides use the non-blocking {@code offer}/{@code poll}, so no thread
+ * can hang when the others stop at the end of an iteration.
+ *
+ * <p>The raw score counts attempts. The {@code offered} and {@code polled} secondary results count
+ * only the successful ones and are the numbers to compare. {@code ConcurrentLinkedQueue} is
+ * unbounded, so its producers never fail and the queue grows whenever they outrun the consumers;
+ * it is recreated every iteration to keep that growth bounded. Run {@link #main(String[])} to sweep
+ * 1+1 to 4+4 producer and consumer threads.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class QueueHandOffBenchmark {
+
+    private static final int[] THREADS_PER_SIDE = {1, 2, 4};
+    private static final Integer EVENT = 42;
+
+    @Param({"mpmc", "arrayBlocking", "concurrentLinked"})
+    private String implementation;
+
+    @Param({"1024"})
+    private int capacity;
+
+    private Queue<Integer> queue;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        queue = switch (implementation) {
+            case "mpmc" -> new MpmcArrayQueue<>(capacity);
+            case "arrayBlocking" -> new ArrayBlockingQueue<>(capacity);
+            case "concurrentLinked" -> new ConcurrentLinkedQueue<>();
+            default -> throw new IllegalArgumentException("Unknown queue implementation: " + implementation);
+        };
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        queue = null;
+    }
+
+    /** Per-thread tallies of successful operations, reported by JMH as secondary results. */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counts {
+
+        public long offered;
+        public long polled;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            offered = 0;
+            polled = 0;
+        }
+    }
+
+    @Benchmark
+    @Group("handOff")
+    @GroupThreads(1)
+    public void offer(Counts counts) {
+        if (queue.offer(EVENT)) {
+            counts.offered++;
+        }
+    }
+
+    @Benchmark
+    @Group("handOff")
+    @GroupThreads(1)
+    public void poll(Counts counts) {
+        if (queue.poll() != null) {
+            counts.polled++;
+        }
+    }
+
+    /** Runs every implementation once per entry of the 1+1 to 4+4 thread sweep. */
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREADS_PER_SIDE) {
+            Options options = new OptionsBuilder()
+                .include(QueueHandOffBenchmark.class.getSimpleName())
+                .threadGroups(threads, threads)
+                .build();
+            new Runner(options).run();
+        }
+    }
+}
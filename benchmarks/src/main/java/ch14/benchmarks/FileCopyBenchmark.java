@@ -0,0 +1,83 @@
+package ch14.benchmarks;
+
+import ch14.examples.StreamIOExamples;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link StreamIOExamples#copyWithStreams(Path, Path)} (user-space buffer),
+ * {@link StreamIOExamples#copyWithChannels(Path, Path)} ({@code FileChannel.transferTo}) and
+ * {@link Files#copy(Path, Path, java.nio.file.CopyOption...)} on files of increasing size. Every
+ * variant overwrites the same target so no per-invocation cleanup is needed; results include page
+ * cache effects, which is representative of repeated snapshot copies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileCopyBenchmark {
+
+    @Param({"1048576", "67108864", "536870912"})
+    private int size;
+
+    private Path directory;
+    private Path source;
+    private Path target;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("copy-bench");
+        source = directory.resolve("source.bin");
+        target = directory.resolve("target.bin");
+        byte[] block = new byte[1 << 20];
+        new SplittableRandom(7).nextBytes(block);
+        try (var out = Files.newOutputStream(source)) {
+            for (int written = 0; written < size; written += block.length) {
+                out.write(block, 0, Math.min(block.length, size - written));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(target);
+        Files.deleteIfExists(source);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public void streamCopy() throws IOException {
+        StreamIOExamples.copyWithStreams(source, target);
+    }
+
+    @Benchmark
+    public void channelCopy() throws IOException {
+        StreamIOExamples.copyWithChannels(source, target);
+    }
+
+    @Benchmark
+    public void filesCopy() throws IOException {
+        Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
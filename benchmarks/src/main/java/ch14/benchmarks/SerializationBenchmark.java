@@ -0,0 +1,82 @@
+package ch14.benchmarks;
+
+import ch14.examples.SerializationExamples;
+import ch14.examples.SerializationExamples.Animal;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link SerializationExamples#serialize(Animal)} with the {@code RecordCodec}-backed
+ * {@link SerializationExamples#serializeCompact(Animal)}. Besides throughput, the {@link Payload}
+ * auxiliary counter reports encoded bytes in the same time unit; dividing it by the primary score
+ * gives the payload size per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private final Animal animal = new Animal("lion", 5);
+    private byte[] javaBytes;
+    private byte[] compactBytes;
+
+    /** Encoded payload bytes, exposed as a secondary JMH metric. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Payload {
+
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        javaBytes = SerializationExamples.serialize(animal);
+        compactBytes = SerializationExamples.serializeCompact(animal);
+    }
+
+    @Benchmark
+    public byte[] javaSerialize(Payload payload) throws IOException {
+        byte[] bytes = SerializationExamples.serialize(animal);
+        payload.bytes += bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public byte[] compactSerialize(Payload payload) {
+        byte[] bytes = SerializationExamples.serializeCompact(animal);
+        payload.bytes += bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Animal javaDeserialize() throws IOException, ClassNotFoundException {
+        return SerializationExamples.deserialize(javaBytes);
+    }
+
+    @Benchmark
+    public Animal compactDeserialize() throws IOException {
+        return SerializationExamples.deserializeCompact(compactBytes);
+    }
+}
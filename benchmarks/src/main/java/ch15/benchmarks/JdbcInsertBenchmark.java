@@ -0,0 +1,89 @@
+package ch15.benchmarks;
+
+import ch15.examples.JdbcExamples;
+import ch15.examples.JdbcExamples.ZooAnimal;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loads {@code rows} animals into an empty table either one {@link JdbcExamples#insertAnimal}
+ * call (and auto-commit) per row, or through {@link JdbcExamples#insertAnimals(Connection,
+ * java.util.Iterator, int)} with the given batch size. Each invocation starts from a freshly
+ * created table. {@code batchSize} lives in its own {@link Batching} state so that only the batched
+ * variant is swept over it; the row-by-row variant runs once per {@code rows} and is slow at 1M rows
+ * because every row is its own transaction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JdbcInsertBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int rows;
+
+    private SqliteDatabase database;
+    private Connection connection;
+    private List<ZooAnimal> animals;
+
+    @Setup(Level.Trial)
+    public void openDatabase() throws IOException, SQLException {
+        database = new SqliteDatabase();
+        connection = database.connect();
+        animals = IntStream.rangeClosed(1, rows).mapToObj(i -> new ZooAnimal(i, "animal-" + i)).toList();
+    }
+
+    @Setup(Level.Invocation)
+    public void emptyTable() throws SQLException {
+        database.resetAnimalTable(connection);
+    }
+
+    @TearDown(Level.Trial)
+    public void closeDatabase() throws IOException, SQLException {
+        connection.close();
+        database.close();
+    }
+
+    @Benchmark
+    public int rowByRow() throws SQLException {
+        int inserted = 0;
+        for (ZooAnimal animal : animals) {
+            inserted += JdbcExamples.insertAnimal(connection, animal);
+        }
+        return inserted;
+    }
+
+    @Benchmark
+    public int batched(Batching batching) throws SQLException {
+        return JdbcExamples.insertAnimals(connection, animals.iterator(), batching.batchSize);
+    }
+
+    /** Batch sizes for {@link #batched(Batching)}; JMH sweeps a param only for benchmarks using its state. */
+    @State(Scope.Benchmark)
+    public static class Batching {
+
+        @Param({"100", "1000", "10000"})
+        int batchSize;
+    }
+}
@@ -0,0 +1,43 @@
+package ch15.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Temporary file-backed SQLite database for the Chapter 15 benchmarks. A file (rather than
+ * {@code :memory:}) keeps commit costs realistic and lets several connections share the data.
+ */
+final class SqliteDatabase implements AutoCloseable {
+
+    private final Path file;
+
+    SqliteDatabase() throws IOException {
+        file = Files.createTempFile("ch15-bench", ".db");
+    }
+
+    String url() {
+        return "jdbc:sqlite:" + file;
+    }
+
+    Connection connect() throws SQLException {
+        return DriverManager.getConnection(url());
+    }
+
+    /** Drops and recreates the {@code animal} table used by {@code JdbcExamples}. */
+    void resetAnimalTable(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("DROP TABLE IF EXISTS animal");
+            stmt.executeUpdate("CREATE TABLE animal (id INTEGER PRIMARY KEY, name TEXT NOT NULL)");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        Files.deleteIfExists(file);
+    }
+}
@@ -0,0 +1,330 @@
+package ch09.examples;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Map from object keys to primitive {@code int} values offering the update operations shown in
+ * {@link SetQueueMapExamples#mapOperations()} ({@code put}, {@code putIfAbsent}, {@code compute}
+ * and {@code merge}) without boxing a value or allocating a node per entry.
+ *
+ * <p>Entries are stored densely in the parallel arrays {@code keys} and {@code values} in the order
+ * they were added. A separate open-addressing {@code long[]} index, probed linearly and kept at
+ * most half full, maps each key hash to its entry position; the hash is stored next to the
+ * position, so a probe touches the key only when the full hashes match. An entry therefore costs
+ * about 24 bytes of table space besides the key itself, where a {@link LinkedHashMap} spends
+ * roughly 60 on the entry node, the boxed {@link Integer} and its table slot.
+ *
+ * <p>Because {@code int} has no {@code null}, absent keys read as {@code 0}: {@link #getInt}
+ * returns it, {@link #compute} passes it to the remapping function, and {@link #put} and
+ * {@link #putIfAbsent} return it where {@link Map} would return {@code null}. Use
+ * {@link #containsKey} when {@code 0} is a meaningful value. {@code null} keys are not supported.
+ *
+ * <p>With {@code insertionOrder} enabled, iteration follows insertion order like a
+ * {@link LinkedHashMap} and removal leaves a hole that is compacted on the next resize. Otherwise
+ * removal moves the last entry into the hole and iteration order is unspecified. Instances are
+ * not thread-safe.
+ *
+ * @param <K> key type
+ */
+public final class ObjectIntMap<K> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 29;
+
+    private final boolean insertionOrder;
+    /** Key hash and entry position for each occupied slot, see {@link #tag}; {@code 0} for free slots. */
+    private long[] index;
+    private Object[] keys;
+    private int[] values;
+    /** Entry positions in use, including holes left by ordered removal. */
+    private int used;
+    private int size;
+
+    public ObjectIntMap() {
+        this(DEFAULT_CAPACITY, true);
+    }
+
+    /**
+     * @param expectedSize number of keys the map holds before its first resize
+     * @param insertionOrder whether iteration follows insertion order after removals
+     */
+    public ObjectIntMap(int expectedSize, boolean insertionOrder) {
+        if (expectedSize < 0 || expectedSize > MAX_CAPACITY) {
+            throw new IllegalArgumentException("expectedSize must be within 0.." + MAX_CAPACITY + ": " + expectedSize);
+        }
+        this.insertionOrder = insertionOrder;
+        allocate(Math.max(expectedSize, 1));
+    }
+
+    /** @return value mapped to {@code key}, or {@code 0} when absent */
+    public int getInt(Object key) {
+        return getOrDefault(key, 0);
+    }
+
+    /** @return value mapped to {@code key}, or {@code defaultValue} when absent */
+    public int getOrDefault(Object key, int defaultValue) {
+        int entry = (int) index[slotFor(key, hash(key))] - 1;
+        return entry < 0 ? defaultValue : values[entry];
+    }
+
+    /** @return whether {@code key} is mapped */
+    public boolean containsKey(Object key) {
+        return index[slotFor(key, hash(key))] != 0;
+    }
+
+    /**
+     * Maps {@code key} to {@code value}.
+     *
+     * @return the previous value, or {@code 0} when absent
+     */
+    public int put(K key, int value) {
+        int hash = hash(key);
+        int slot = slotFor(key, hash);
+        int entry = (int) index[slot] - 1;
+        if (entry < 0) {
+            append(slot, key, hash, value);
+            return 0;
+        }
+        int previous = values[entry];
+        values[entry] = value;
+        return previous;
+    }
+
+    /**
+     * Maps {@code key} to {@code value} unless it is already mapped.
+     *
+     * @return the existing value, or {@code 0} when absent
+     */
+    public int putIfAbsent(K key, int value) {
+        int hash = hash(key);
+        int slot = slotFor(key, hash);
+        int entry = (int) index[slot] - 1;
+        if (entry < 0) {
+            append(slot, key, hash, value);
+            return 0;
+        }
+        return values[entry];
+    }
+
+    /**
+     * Stores {@code value} for an absent key, otherwise {@code remapping} applied to the current
+     * value and {@code value}; {@code merge(word, 1, Integer::sum)} counts occurrences.
+     *
+     * @return the new value
+     */
+    public int merge(K key, int value, IntBinaryOperator remapping) {
+        Objects.requireNonNull(remapping);
+        int hash = hash(key);
+        int slot = slotFor(key, hash);
+        int entry = (int) index[slot] - 1;
+        if (entry < 0) {
+            append(slot, key, hash, value);
+            return value;
+        }
+        return values[entry] = remapping.applyAsInt(values[entry], value);
+    }
+
+    /**
+     * Stores {@code remapping} applied to the current value, or to {@code 0} for an absent key.
+     *
+     * @return the new value
+     */
+    public int compute(K key, IntUnaryOperator remapping) {
+        Objects.requireNonNull(remapping);
+        int hash = hash(key);
+        int slot = slotFor(key, hash);
+        int entry = (int) index[slot] - 1;
+        if (entry < 0) {
+            int value = remapping.applyAsInt(0);
+            append(slot, key, hash, value);
+            return value;
+        }
+        return values[entry] = remapping.applyAsInt(values[entry]);
+    }
+
+    /** @return whether {@code key} was mapped before being removed */
+    public boolean remove(Object key) {
+        int slot = slotFor(key, hash(key));
+        int entry = (int) index[slot] - 1;
+        if (entry < 0) {
+            return false;
+        }
+        deleteSlot(slot);
+        size--;
+        int last = used - 1;
+        if (entry != last && !insertionOrder) {
+            int lastSlot = slotOfEntry(last);
+            index[lastSlot] = tag((int) (index[lastSlot] >>> 32), entry);
+            keys[entry] = keys[last];
+            values[entry] = values[last];
+        }
+        if (entry == last || !insertionOrder) {
+            used--;
+        }
+        keys[insertionOrder ? entry : last] = null;
+        return true;
+    }
+
+    /** @return number of mapped keys */
+    public int size() {
+        return size;
+    }
+
+    /** @return whether no key is mapped */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Removes every mapping, keeping the allocated capacity. */
+    public void clear() {
+        Arrays.fill(keys, 0, used, null);
+        Arrays.fill(index, 0L);
+        used = 0;
+        size = 0;
+    }
+
+    /** Passes every key and value to {@code action} in iteration order. */
+    @SuppressWarnings("unchecked")
+    public void forEach(ObjIntConsumer<? super K> action) {
+        Objects.requireNonNull(action);
+        for (int entry = 0; entry < used; entry++) {
+            if (keys[entry] != null) {
+                action.accept((K) keys[entry], values[entry]);
+            }
+        }
+    }
+
+    /** @return boxed copy in iteration order, for callers that need a {@link Map} */
+    public Map<K, Integer> toMap() {
+        Map<K, Integer> map = new LinkedHashMap<>();
+        forEach(map::put);
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((key, value) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(key).append('=').append(value);
+        });
+        return sb.append('}').toString();
+    }
+
+    /** @return slot holding the entry for {@code key}, or the free slot where it would be added */
+    private int slotFor(Object key, int hash) {
+        int mask = index.length - 1;
+        int slot = hash & mask;
+        long tagged;
+        while ((tagged = index[slot]) != 0) {
+            if ((int) (tagged >>> 32) == hash) {
+                Object candidate = keys[(int) tagged - 1];
+                if (candidate == key || key.equals(candidate)) {
+                    return slot;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private int slotOfEntry(int entry) {
+        int mask = index.length - 1;
+        int slot = hash(keys[entry]) & mask;
+        while ((int) index[slot] != entry + 1) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private int freeSlot(int hash) {
+        int mask = index.length - 1;
+        int slot = hash & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void append(int slot, Object key, int hash, int value) {
+        if (used == keys.length) {
+            // Compact in place when ordered removals left enough holes, otherwise double.
+            rebuild(size < used - (used >>> 2) ? keys.length : grownCapacity());
+            slot = freeSlot(hash);
+        }
+        keys[used] = key;
+        values[used] = value;
+        index[slot] = tag(hash, used++);
+        size++;
+    }
+
+    /** Backward-shift deletion: later entries of the probe run move up so lookups need no tombstones. */
+    private void deleteSlot(int slot) {
+        int mask = index.length - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; index[next] != 0; next = (next + 1) & mask) {
+            int home = (int) (index[next] >>> 32) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                index[hole] = index[next];
+                hole = next;
+            }
+        }
+        index[hole] = 0;
+    }
+
+    private int grownCapacity() {
+        if (keys.length == MAX_CAPACITY) {
+            throw new IllegalStateException("ObjectIntMap cannot hold more than " + MAX_CAPACITY + " keys");
+        }
+        return (int) Math.min(MAX_CAPACITY, 2L * keys.length);
+    }
+
+    private void rebuild(int capacity) {
+        long[] oldIndex = index;
+        Object[] oldKeys = keys;
+        int[] oldValues = values;
+        int oldUsed = used;
+        // Recover the hashes from the old index rather than calling hashCode() again.
+        int[] hashes = new int[oldUsed];
+        for (long tagged : oldIndex) {
+            if (tagged != 0) {
+                hashes[(int) tagged - 1] = (int) (tagged >>> 32);
+            }
+        }
+        allocate(capacity);
+        for (int entry = 0; entry < oldUsed; entry++) {
+            if (oldKeys[entry] != null) {
+                keys[used] = oldKeys[entry];
+                values[used] = oldValues[entry];
+                index[freeSlot(hashes[entry])] = tag(hashes[entry], used++);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        values = new int[capacity];
+        // Smallest power of two that keeps the index at most half full.
+        index = new long[Integer.highestOneBit(2 * capacity - 1) << 1];
+        used = 0;
+    }
+
+    /** @return index slot content: the key hash in the high half, the entry position plus one in the low half */
+    private static long tag(int hash, int entry) {
+        return ((long) hash << 32) | (entry + 1);
+    }
+
+    /** Spreads {@link Object#hashCode()} so that keys with similar hashes do not build long clusters. */
+    private static int hash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
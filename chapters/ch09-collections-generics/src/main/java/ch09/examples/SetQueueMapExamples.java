@@ -46,6 +46,14 @@ public final class SetQueueMapExamples {
         return numbers;
     }
 
+    /**
+     * @return the numbers of {@link #treeNavigation()} as a {@link SortedIntArraySet}, answering the
+     *     same navigation queries by binary search over an {@code int[]} without boxed elements
+     */
+    public static SortedIntArraySet treeNavigationCompact() {
+        return SortedIntArraySet.of(8, 2, 6, 4, 2);
+    }
+
     /**
      * @return queue after enqueue/dequeue operations, backing the explanation of FIFO structures
      */
@@ -84,6 +92,20 @@ public final class SetQueueMapExamples {
         return scores;
     }
 
+    /**
+     * @return the scores of {@link #mapOperations()} built with {@link ObjectIntMap}, whose updates
+     *     neither box the counts nor allocate an entry per key
+     */
+    public static ObjectIntMap<String> mapOperationsUnboxed() {
+        ObjectIntMap<String> scores = new ObjectIntMap<>();
+        scores.put("lion", 3);
+        scores.putIfAbsent("tiger", 5);
+        scores.compute("tiger", v -> v + 1);
+        scores.merge("bear", 2, Integer::sum);
+        scores.merge("bear", 1, Integer::sum);
+        return scores;
+    }
+
     /**
      * @return {@link TreeMap} showing natural key ordering, reinforcing the sorted-map discussion
      */
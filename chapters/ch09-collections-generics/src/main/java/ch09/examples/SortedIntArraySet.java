@@ -0,0 +1,554 @@
+package ch09.examples;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Immutable {@link NavigableSet} of {@code int} values stored in one sorted, duplicate-free
+ * {@code int[]}, a compact alternative to the {@link java.util.TreeSet} of
+ * {@link SetQueueMapExamples#treeNavigation()} for read-mostly lookup tables. Each element costs
+ * four bytes instead of a tree node plus a boxed {@link Integer}, and
+ * {@link #floor}, {@link #ceiling}, {@link #higher}, {@link #lower} and {@link #contains(int)} are
+ * binary searches over contiguous memory.
+ *
+ * <p>{@link #subSet}, {@link #headSet}, {@link #tailSet} and {@link #descendingSet()} are views that
+ * share the array and only narrow the index range, so they cost {@code O(log n)} to create. Unlike
+ * {@code TreeSet} views, a view of a view clamps bounds outside its range instead of throwing.
+ * Navigation methods return boxed values to satisfy the interface; {@link #contains(int)},
+ * {@link #iterator()} (a {@link PrimitiveIterator.OfInt}) and {@link #intStream()} avoid boxing.
+ *
+ * <p>Every mutator throws {@link UnsupportedOperationException}. Instances are safe to share
+ * between threads.
+ */
+public final class SortedIntArraySet extends AbstractSet<Integer> implements NavigableSet<Integer> {
+
+    private static final SortedIntArraySet EMPTY = new SortedIntArraySet(new int[0], 0, 0);
+
+    private final int[] values;
+    private final int from;
+    private final int to;
+
+    private SortedIntArraySet(int[] values, int from, int to) {
+        this.values = values;
+        this.from = from;
+        this.to = to;
+    }
+
+    /** @return set of the distinct {@code values}, which may be unsorted and contain duplicates */
+    public static SortedIntArraySet of(int... values) {
+        return builder(values.length).addAll(values).build();
+    }
+
+    /** @return builder for a set of about {@code expectedSize} values */
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    /** @return whether {@code value} is in the set, without boxing */
+    public boolean contains(int value) {
+        int index = lowerBound(value);
+        return index < to && values[index] == value;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Integer value && contains(value.intValue());
+    }
+
+    @Override
+    public int size() {
+        return to - from;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return from == to;
+    }
+
+    @Override
+    public Comparator<? super Integer> comparator() {
+        return null;
+    }
+
+    @Override
+    public Integer first() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return values[from];
+    }
+
+    @Override
+    public Integer last() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return values[to - 1];
+    }
+
+    @Override
+    public Integer lower(Integer e) {
+        return valueAt(lowerBound(e) - 1);
+    }
+
+    @Override
+    public Integer floor(Integer e) {
+        return valueAt(upperBound(e) - 1);
+    }
+
+    @Override
+    public Integer ceiling(Integer e) {
+        return valueAt(lowerBound(e));
+    }
+
+    @Override
+    public Integer higher(Integer e) {
+        return valueAt(upperBound(e));
+    }
+
+    @Override
+    public SortedIntArraySet subSet(Integer fromElement, boolean fromInclusive, Integer toElement, boolean toInclusive) {
+        if (fromElement > toElement) {
+            throw new IllegalArgumentException("fromElement " + fromElement + " is greater than toElement " + toElement);
+        }
+        int start = fromInclusive ? lowerBound(fromElement) : upperBound(fromElement);
+        int end = toInclusive ? upperBound(toElement) : lowerBound(toElement);
+        return view(start, Math.max(start, end));
+    }
+
+    @Override
+    public SortedIntArraySet headSet(Integer toElement, boolean inclusive) {
+        return view(from, inclusive ? upperBound(toElement) : lowerBound(toElement));
+    }
+
+    @Override
+    public SortedIntArraySet tailSet(Integer fromElement, boolean inclusive) {
+        return view(inclusive ? lowerBound(fromElement) : upperBound(fromElement), to);
+    }
+
+    @Override
+    public SortedIntArraySet subSet(Integer fromElement, Integer toElement) {
+        return subSet(fromElement, true, toElement, false);
+    }
+
+    @Override
+    public SortedIntArraySet headSet(Integer toElement) {
+        return headSet(toElement, false);
+    }
+
+    @Override
+    public SortedIntArraySet tailSet(Integer fromElement) {
+        return tailSet(fromElement, true);
+    }
+
+    @Override
+    public NavigableSet<Integer> descendingSet() {
+        return new DescendingSet(this);
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int next = from;
+
+            @Override
+            public boolean hasNext() {
+                return next < to;
+            }
+
+            @Override
+            public int nextInt() {
+                if (next >= to) {
+                    throw new NoSuchElementException();
+                }
+                return values[next++];
+            }
+        };
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt descendingIterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int next = to - 1;
+
+            @Override
+            public boolean hasNext() {
+                return next >= from;
+            }
+
+            @Override
+            public int nextInt() {
+                if (next < from) {
+                    throw new NoSuchElementException();
+                }
+                return values[next--];
+            }
+        };
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return Spliterators.spliterator(values, from, to,
+            Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+    }
+
+    /** @return the values in ascending order, without boxing */
+    public IntStream intStream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    /** @return copy of the values in ascending order */
+    public int[] toIntArray() {
+        return Arrays.copyOfRange(values, from, to);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof SortedIntArraySet other) {
+            return Arrays.equals(values, from, to, other.values, other.from, other.to);
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        // Sum of Integer.hashCode(value), as Set.hashCode() specifies.
+        int hash = 0;
+        for (int i = from; i < to; i++) {
+            hash += values[i];
+        }
+        return hash;
+    }
+
+    @Override
+    public Integer pollFirst() {
+        throw immutable();
+    }
+
+    @Override
+    public Integer pollLast() {
+        throw immutable();
+    }
+
+    @Override
+    public boolean add(Integer e) {
+        throw immutable();
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        throw immutable();
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Integer> c) {
+        throw immutable();
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        throw immutable();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        throw immutable();
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super Integer> filter) {
+        throw immutable();
+    }
+
+    @Override
+    public void clear() {
+        throw immutable();
+    }
+
+    private SortedIntArraySet view(int start, int end) {
+        return start == from && end == to ? this : new SortedIntArraySet(values, start, end);
+    }
+
+    private Integer valueAt(int index) {
+        return index >= from && index < to ? values[index] : null;
+    }
+
+    /** @return first index in range whose value is at least {@code value}, or {@code to} */
+    private int lowerBound(int value) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /** @return first index in range whose value is greater than {@code value}, or {@code to} */
+    private int upperBound(int value) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static UnsupportedOperationException immutable() {
+        return new UnsupportedOperationException("SortedIntArraySet is immutable");
+    }
+
+    /**
+     * Collects values in any order into a growable {@code int[]}, then sorts and removes duplicates
+     * in bulk on {@link #build()}, which is far cheaper than inserting into a tree one at a time.
+     */
+    public static final class Builder {
+
+        /** Sizes from which {@link #build()} sorts with {@link Arrays#parallelSort(int[], int, int)}. */
+        static final int PARALLEL_SORT_THRESHOLD = 1 << 20;
+
+        private static final int MAX_LENGTH = Integer.MAX_VALUE - 8;
+
+        private int[] buffer;
+        private int size;
+
+        private Builder(int expectedSize) {
+            if (expectedSize < 0) {
+                throw new IllegalArgumentException("expectedSize must not be negative: " + expectedSize);
+            }
+            buffer = new int[Math.max(expectedSize, 8)];
+        }
+
+        public Builder add(int value) {
+            ensureCapacity(1);
+            buffer[size++] = value;
+            return this;
+        }
+
+        public Builder addAll(int... values) {
+            ensureCapacity(values.length);
+            System.arraycopy(values, 0, buffer, size, values.length);
+            size += values.length;
+            return this;
+        }
+
+        /**
+         * Sorts and deduplicates the collected values in place; the builder must not be used
+         * afterwards.
+         *
+         * @return set of the distinct values added
+         */
+        public SortedIntArraySet build() {
+            if (buffer == null) {
+                throw new IllegalStateException("build() was already called");
+            }
+            int[] values = buffer;
+            buffer = null;
+            if (size == 0) {
+                return EMPTY;
+            }
+            if (size >= PARALLEL_SORT_THRESHOLD) {
+                Arrays.parallelSort(values, 0, size);
+            } else {
+                Arrays.sort(values, 0, size);
+            }
+            int distinct = 1;
+            for (int i = 1; i < size; i++) {
+                if (values[i] != values[distinct - 1]) {
+                    values[distinct++] = values[i];
+                }
+            }
+            // Trim only when it saves a meaningful share, since the copy briefly doubles memory.
+            if (values.length - distinct > values.length >>> 3) {
+                values = Arrays.copyOf(values, distinct);
+            }
+            return new SortedIntArraySet(values, 0, distinct);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (buffer == null) {
+                throw new IllegalStateException("build() was already called");
+            }
+            long required = (long) size + extra;
+            if (required > buffer.length) {
+                if (required > MAX_LENGTH) {
+                    throw new IllegalStateException("SortedIntArraySet cannot hold more than " + MAX_LENGTH + " values");
+                }
+                buffer = Arrays.copyOf(buffer, (int) Math.min(MAX_LENGTH, Math.max(required, 2L * buffer.length)));
+            }
+        }
+    }
+
+    /** Reverse-order view that maps every navigation method onto its mirror image. */
+    private static final class DescendingSet extends AbstractSet<Integer> implements NavigableSet<Integer> {
+
+        private final SortedIntArraySet ascending;
+
+        DescendingSet(SortedIntArraySet ascending) {
+            this.ascending = ascending;
+        }
+
+        @Override
+        public Comparator<? super Integer> comparator() {
+            return Collections.reverseOrder();
+        }
+
+        @Override
+        public int size() {
+            return ascending.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return ascending.contains(o);
+        }
+
+        @Override
+        public Integer first() {
+            return ascending.last();
+        }
+
+        @Override
+        public Integer last() {
+            return ascending.first();
+        }
+
+        @Override
+        public Integer lower(Integer e) {
+            return ascending.higher(e);
+        }
+
+        @Override
+        public Integer floor(Integer e) {
+            return ascending.ceiling(e);
+        }
+
+        @Override
+        public Integer ceiling(Integer e) {
+            return ascending.floor(e);
+        }
+
+        @Override
+        public Integer higher(Integer e) {
+            return ascending.lower(e);
+        }
+
+        @Override
+        public NavigableSet<Integer> subSet(Integer fromElement, boolean fromInclusive, Integer toElement, boolean toInclusive) {
+            if (fromElement < toElement) {
+                throw new IllegalArgumentException("fromElement " + fromElement + " is less than toElement " + toElement);
+            }
+            return ascending.subSet(toElement, toInclusive, fromElement, fromInclusive).descendingSet();
+        }
+
+        @Override
+        public NavigableSet<Integer> headSet(Integer toElement, boolean inclusive) {
+            return ascending.tailSet(toElement, inclusive).descendingSet();
+        }
+
+        @Override
+        public NavigableSet<Integer> tailSet(Integer fromElement, boolean inclusive) {
+            return ascending.headSet(fromElement, inclusive).descendingSet();
+        }
+
+        @Override
+        public NavigableSet<Integer> subSet(Integer fromElement, Integer toElement) {
+            return subSet(fromElement, true, toElement, false);
+        }
+
+        @Override
+        public NavigableSet<Integer> headSet(Integer toElement) {
+            return headSet(toElement, false);
+        }
+
+        @Override
+        public NavigableSet<Integer> tailSet(Integer fromElement) {
+            return tailSet(fromElement, true);
+        }
+
+        @Override
+        public NavigableSet<Integer> descendingSet() {
+            return ascending;
+        }
+
+        @Override
+        public PrimitiveIterator.OfInt iterator() {
+            return ascending.descendingIterator();
+        }
+
+        @Override
+        public PrimitiveIterator.OfInt descendingIterator() {
+            return ascending.iterator();
+        }
+
+        @Override
+        public int hashCode() {
+            return ascending.hashCode();
+        }
+
+        @Override
+        public Integer pollFirst() {
+            throw immutable();
+        }
+
+        @Override
+        public Integer pollLast() {
+            throw immutable();
+        }
+
+        @Override
+        public boolean add(Integer e) {
+            throw immutable();
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            throw immutable();
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends Integer> c) {
+            throw immutable();
+        }
+
+        @Override
+        public boolean removeAll(Collection<?> c) {
+            throw immutable();
+        }
+
+        @Override
+        public boolean retainAll(Collection<?> c) {
+            throw immutable();
+        }
+
+        @Override
+        public boolean removeIf(Predicate<? super Integer> filter) {
+            throw immutable();
+        }
+
+        @Override
+        public void clear() {
+            throw immutable();
+        }
+    }
+}
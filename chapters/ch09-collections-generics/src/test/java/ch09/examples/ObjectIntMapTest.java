@@ -0,0 +1,98 @@
+package ch09.examples;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class ObjectIntMapTest {
+
+    @Test
+    void absentKeysReadAsZero() {
+        ObjectIntMap<String> map = new ObjectIntMap<>();
+        assertEquals(0, map.getInt("missing"));
+        assertEquals(-1, map.getOrDefault("missing", -1));
+        assertEquals(0, map.put("a", 7));
+        assertEquals(7, map.put("a", 8));
+        assertEquals(8, map.putIfAbsent("a", 9));
+        assertEquals(0, map.putIfAbsent("b", 0));
+        assertTrue(map.containsKey("b"));
+        assertEquals(5, map.compute("c", v -> v + 5));
+        assertEquals(10, map.compute("c", v -> v * 2));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    void mergeCountsOccurrences() {
+        ObjectIntMap<String> counts = new ObjectIntMap<>();
+        for (String word : List.of("to", "be", "or", "not", "to", "be")) {
+            counts.merge(word, 1, Integer::sum);
+        }
+        assertEquals("{to=2, be=2, or=1, not=1}", counts.toString());
+    }
+
+    @Test
+    void orderedRemovalKeepsInsertionOrderAcrossResizes() {
+        ObjectIntMap<Integer> map = new ObjectIntMap<>(4, true);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        for (int i = 0; i < 100; i += 2) {
+            assertTrue(map.remove(i));
+        }
+        assertFalse(map.remove(0));
+        for (int i = 100; i < 200; i++) {
+            map.put(i, i);
+        }
+        List<Integer> keys = map.toMap().keySet().stream().toList();
+        assertEquals(150, keys.size());
+        assertEquals(List.of(1, 3, 5), keys.subList(0, 3));
+        assertEquals(List.of(197, 198, 199), keys.subList(147, 150));
+    }
+
+    @Test
+    void randomOperationsMatchHashMap() {
+        for (boolean insertionOrder : new boolean[] {true, false}) {
+            ObjectIntMap<String> map = new ObjectIntMap<>(0, insertionOrder);
+            Map<String, Integer> expected = new HashMap<>();
+            Random random = new Random(3);
+            for (int i = 0; i < 200_000; i++) {
+                String key = "k" + random.nextInt(5_000);
+                switch (random.nextInt(4)) {
+                    case 0 -> assertEquals(Objects.requireNonNullElse(expected.put(key, i), 0), map.put(key, i), () -> "put " + key);
+                    case 1 -> {
+                        expected.merge(key, 1, Integer::sum);
+                        map.merge(key, 1, Integer::sum);
+                    }
+                    case 2 -> assertEquals(expected.remove(key) != null, map.remove(key), () -> "remove " + key);
+                    default -> assertEquals(expected.containsKey(key), map.containsKey(key), () -> "contains " + key);
+                }
+                if (random.nextInt(4) == 0) {
+                    expected.put(key, i);
+                    map.put(key, i);
+                }
+            }
+            assertEquals(expected, map.toMap());
+            assertEquals(expected.size(), map.size());
+            map.clear();
+            assertTrue(map.isEmpty());
+            assertEquals(0, map.getInt("k1"));
+        }
+    }
+
+    @Test
+    void rejectsNullsAndInvalidSizes() {
+        ObjectIntMap<String> map = new ObjectIntMap<>();
+        assertThrows(NullPointerException.class, () -> map.put(null, 1));
+        assertThrows(NullPointerException.class, () -> map.merge("a", 1, null));
+        assertThrows(IllegalArgumentException.class, () -> new ObjectIntMap<String>(-1, true));
+    }
+}
@@ -25,6 +25,14 @@ class SetQueueMapExamplesTest {
         assertEquals(6, numbers.lower(8));
     }
 
+    @Test
+    void compactTreeNavigationMatchesTreeSet() {
+        NavigableSet<Integer> compact = SetQueueMapExamples.treeNavigationCompact();
+        assertEquals(SetQueueMapExamples.treeNavigation(), compact);
+        assertEquals(4, compact.higher(2));
+        assertEquals(6, compact.lower(8));
+    }
+
     @Test
     void queuePollRemovesHead() {
         Queue<String> queue = SetQueueMapExamples.queueBehavior();
@@ -47,6 +55,11 @@ class SetQueueMapExamplesTest {
         assertEquals(3, scores.get("bear"));
     }
 
+    @Test
+    void unboxedMapOperationsMatchBoxedOnes() {
+        assertEquals(SetQueueMapExamples.mapOperations(), SetQueueMapExamples.mapOperationsUnboxed().toMap());
+    }
+
     @Test
     void treeMapOrdersKeys() {
         assertEquals(List.of("a", "b", "c", "d"), SetQueueMapExamples.treeMapOrdering().keySet().stream().toList());
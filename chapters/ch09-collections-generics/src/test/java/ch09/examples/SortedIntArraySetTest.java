@@ -0,0 +1,93 @@
+package ch09.examples;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+class SortedIntArraySetTest {
+
+    @Test
+    void builderSortsAndDeduplicates() {
+        SortedIntArraySet set = SortedIntArraySet.builder(0).add(5).addAll(3, 9, 3, -1, 5).add(9).build();
+        assertArrayEquals(new int[] {-1, 3, 5, 9}, set.toIntArray());
+        assertEquals(4, set.size());
+        assertTrue(set.contains(3));
+        assertFalse(set.contains(4));
+        assertFalse(set.contains("3"));
+        assertEquals(List.of(-1, 3, 5, 9), set.intStream().boxed().toList());
+    }
+
+    @Test
+    void navigationMatchesTreeSet() {
+        Random random = new Random(5);
+        int[] values = random.ints(2_000, -500, 500).toArray();
+        SortedIntArraySet compact = SortedIntArraySet.of(values);
+        TreeSet<Integer> tree = new TreeSet<>();
+        for (int value : values) {
+            tree.add(value);
+        }
+        assertEquals(tree, compact);
+        assertEquals(tree.hashCode(), compact.hashCode());
+        for (int probe = -510; probe <= 510; probe++) {
+            assertEquals(tree.floor(probe), compact.floor(probe), "floor " + probe);
+            assertEquals(tree.ceiling(probe), compact.ceiling(probe), "ceiling " + probe);
+            assertEquals(tree.higher(probe), compact.higher(probe), "higher " + probe);
+            assertEquals(tree.lower(probe), compact.lower(probe), "lower " + probe);
+        }
+        assertEquals(tree.descendingSet().stream().toList(), compact.descendingSet().stream().toList());
+    }
+
+    @Test
+    void rangeViewsMatchTreeSet() {
+        SortedIntArraySet compact = SortedIntArraySet.of(1, 3, 5, 7, 9, 11);
+        TreeSet<Integer> tree = new TreeSet<>(compact);
+        assertEquals(tree.subSet(3, 9), compact.subSet(3, 9));
+        assertEquals(tree.subSet(3, false, 9, true), compact.subSet(3, false, 9, true));
+        assertEquals(tree.subSet(4, 4), compact.subSet(4, 4));
+        assertEquals(tree.headSet(7), compact.headSet(7));
+        assertEquals(tree.headSet(7, true), compact.headSet(7, true));
+        assertEquals(tree.tailSet(5, false), compact.tailSet(5, false));
+        NavigableSet<Integer> middle = compact.subSet(3, true, 9, true);
+        assertEquals(3, middle.first());
+        assertEquals(9, middle.last());
+        assertNull(middle.higher(9));
+        assertNull(middle.lower(3));
+        assertThrows(IllegalArgumentException.class, () -> compact.subSet(9, 3));
+        assertThrows(NoSuchElementException.class, () -> compact.subSet(4, 5).first());
+    }
+
+    @Test
+    void descendingViewMirrorsNavigation() {
+        SortedIntArraySet compact = SortedIntArraySet.of(1, 3, 5, 7, 9, 11);
+        NavigableSet<Integer> descending = compact.descendingSet();
+        NavigableSet<Integer> treeDescending = new TreeSet<>(compact).descendingSet();
+        assertEquals(11, descending.first());
+        assertEquals(7, descending.higher(9));
+        assertEquals(5, descending.ceiling(6));
+        assertEquals(List.of(9, 7, 5), descending.subSet(9, true, 5, true).stream().toList());
+        assertEquals(treeDescending.headSet(5).stream().toList(), descending.headSet(5).stream().toList());
+        assertEquals(treeDescending.tailSet(5).stream().toList(), descending.tailSet(5).stream().toList());
+        assertEquals(compact, descending.descendingSet());
+    }
+
+    @Test
+    void mutatorsAreRejected() {
+        SortedIntArraySet set = SortedIntArraySet.of(1, 2);
+        assertThrows(UnsupportedOperationException.class, () -> set.add(3));
+        assertThrows(UnsupportedOperationException.class, () -> set.remove(1));
+        assertThrows(UnsupportedOperationException.class, set::pollFirst);
+        assertThrows(UnsupportedOperationException.class, () -> set.descendingSet().clear());
+        assertTrue(SortedIntArraySet.of().isEmpty());
+    }
+}
@@ -0,0 +1,133 @@
+package ch10.examples;
+
+import java.math.BigInteger;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Exact products of {@code long} values, the overflow-safe counterpart of
+ * {@link PrimitiveStreamExamples#productUsingLongStream(long, long)}, whose {@code (a, b) -> a * b}
+ * reduction silently wraps around past {@code 20!}.
+ *
+ * <p>Values are first multiplied in a plain {@code long}, checked for overflow with
+ * {@link Math#multiplyHigh(long, long)}. Only when that overflows does the computation switch to
+ * {@link BigInteger}, and then it multiplies the remaining values as a balanced binary tree: leaves
+ * pack as many values as fit into one
+ * {@code long}, and inner nodes multiply operands of similar size, which lets
+ * {@code BigInteger.multiply} use its sub-quadratic algorithms instead of growing one huge number a
+ * digit at a time. Subtrees of at least {@link #PARALLEL_THRESHOLD} values are computed as fork/join
+ * tasks on the common pool.
+ */
+public final class ExactProduct {
+
+    /** Range length from which subtrees are forked. */
+    static final int PARALLEL_THRESHOLD = 1 << 12;
+
+    private static final int LEAF_SIZE = 64;
+
+    private ExactProduct() {
+    }
+
+    /**
+     * @return product of the {@code count} consecutive values starting at {@code start}; {@code 1}
+     *     when {@code count} is zero
+     * @throws IllegalArgumentException if {@code count} is negative or the range passes
+     *     {@link Long#MAX_VALUE}
+     */
+    public static BigInteger ofRange(long start, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+        if (count > 0 && start > Long.MAX_VALUE - (count - 1)) {
+            throw new IllegalArgumentException("Range starting at " + start + " with " + count + " values exceeds Long.MAX_VALUE");
+        }
+        return product(index -> start + index, count);
+    }
+
+    /** @return product of {@code values}; {@code 1} for an empty array */
+    public static BigInteger of(long... values) {
+        Objects.requireNonNull(values);
+        return product(index -> values[(int) index], values.length);
+    }
+
+    private static BigInteger product(LongUnaryOperator valueAt, long length) {
+        long product = 1L;
+        for (long i = 0; i < length; i++) {
+            long value = valueAt.applyAsLong(i);
+            if (overflows(product, value)) {
+                return BigInteger.valueOf(product).multiply(tree(valueAt, i, length));
+            }
+            product *= value;
+        }
+        return BigInteger.valueOf(product);
+    }
+
+    private static BigInteger tree(LongUnaryOperator valueAt, long from, long to) {
+        if (to - from >= PARALLEL_THRESHOLD) {
+            return ForkJoinPool.commonPool().invoke(new ProductTask(valueAt, from, to));
+        }
+        return sequentialTree(valueAt, from, to);
+    }
+
+    private static BigInteger sequentialTree(LongUnaryOperator valueAt, long from, long to) {
+        if (to - from <= LEAF_SIZE) {
+            return leaf(valueAt, from, to);
+        }
+        long middle = (from + to) >>> 1;
+        return sequentialTree(valueAt, from, middle).multiply(sequentialTree(valueAt, middle, to));
+    }
+
+    /** Multiplies a short range, packing values into one {@code long} until it would overflow. */
+    private static BigInteger leaf(LongUnaryOperator valueAt, long from, long to) {
+        BigInteger result = BigInteger.ONE;
+        long packed = 1L;
+        for (long i = from; i < to; i++) {
+            long value = valueAt.applyAsLong(i);
+            if (overflows(packed, value)) {
+                result = result.multiply(BigInteger.valueOf(packed));
+                packed = value;
+            } else {
+                packed *= value;
+            }
+        }
+        return result.multiply(BigInteger.valueOf(packed));
+    }
+
+    /**
+     * Same test as {@link Math#multiplyExact(long, long)} without the exception, which would cost far
+     * more than the multiplication when overflow is the normal case, as it is in the leaves.
+     */
+    private static boolean overflows(long a, long b) {
+        return Math.multiplyHigh(a, b) != ((a * b) >> 63);
+    }
+
+    /** Fork/join node of the product tree; falls back to the sequential tree below the threshold. */
+    private static final class ProductTask extends RecursiveTask<BigInteger> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient LongUnaryOperator valueAt;
+        private final long from;
+        private final long to;
+
+        ProductTask(LongUnaryOperator valueAt, long from, long to) {
+            this.valueAt = valueAt;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            if (to - from < PARALLEL_THRESHOLD) {
+                return sequentialTree(valueAt, from, to);
+            }
+            long middle = (from + to) >>> 1;
+            ProductTask right = new ProductTask(valueAt, middle, to);
+            right.fork();
+            BigInteger left = new ProductTask(valueAt, from, middle).compute();
+            return left.multiply(right.join());
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package ch10.examples;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collector;
+
+/**
+ * Grouping result keyed by a primitive {@code int}, built as a lighter alternative to
+ * {@code Collectors.groupingBy} when the classifier yields small integers such as word lengths.
+ * Keys live in an open-addressing {@code int[]} table with linear probing, and every key owns a
+ * growable {@code Object[]} bucket, so accumulating an element neither boxes the key nor allocates
+ * a map node or an {@link java.util.ArrayList}.
+ *
+ * <p>Instances are mutable while a stream is collecting into them and are not thread-safe; parallel
+ * streams accumulate into separate instances that are merged by the collector's combiner.
+ *
+ * @param <T> element type stored in the buckets
+ */
+public final class IntKeyedGroups<T> {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int INITIAL_BUCKET_SIZE = 4;
+
+    private int[] keys;
+    private Object[][] buckets;
+    private int[] bucketSizes;
+    private int size;
+
+    public IntKeyedGroups() {
+        keys = new int[INITIAL_CAPACITY];
+        buckets = new Object[INITIAL_CAPACITY][];
+        bucketSizes = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * @return collector that groups stream elements by the {@code int} produced by
+     *     {@code classifier}, the unboxed counterpart of {@code Collectors.groupingBy}
+     */
+    public static <T> Collector<T, ?, IntKeyedGroups<T>> groupingByInt(ToIntFunction<? super T> classifier) {
+        Objects.requireNonNull(classifier);
+        return Collector.of(
+            IntKeyedGroups::new,
+            (groups, element) -> groups.add(classifier.applyAsInt(element), element),
+            IntKeyedGroups::mergeFrom,
+            Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /** Appends {@code element} to the bucket for {@code key}, creating the bucket on first use. */
+    public void add(int key, T element) {
+        int slot = slotFor(key);
+        if (buckets[slot] == null) {
+            keys[slot] = key;
+            buckets[slot] = new Object[INITIAL_BUCKET_SIZE];
+            size++;
+        }
+        append(slot, element);
+        if (size * 4 > keys.length * 3) {
+            resize();
+        }
+    }
+
+    /** @return elements grouped under {@code key} in encounter order, or an empty list */
+    @SuppressWarnings("unchecked")
+    public List<T> get(int key) {
+        int slot = slotFor(key);
+        if (buckets[slot] == null) {
+            return List.of();
+        }
+        Object[] copy = Arrays.copyOf(buckets[slot], bucketSizes[slot]);
+        return Collections.unmodifiableList(Arrays.asList((T[]) copy));
+    }
+
+    /** @return number of elements grouped under {@code key} without copying the bucket */
+    public int count(int key) {
+        int slot = slotFor(key);
+        return buckets[slot] == null ? 0 : bucketSizes[slot];
+    }
+
+    /** @return whether at least one element was grouped under {@code key} */
+    public boolean containsKey(int key) {
+        return buckets[slotFor(key)] != null;
+    }
+
+    /** @return distinct keys in ascending order */
+    public int[] keys() {
+        int[] result = new int[size];
+        int index = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (buckets[slot] != null) {
+                result[index++] = keys[slot];
+            }
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    /** @return number of distinct keys */
+    public int size() {
+        return size;
+    }
+
+    /** @return whether no element has been added */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Moves every bucket of {@code other} into this instance, appending after existing elements so
+     * encounter order is kept when used as a collector combiner.
+     */
+    @SuppressWarnings("unchecked")
+    public IntKeyedGroups<T> mergeFrom(IntKeyedGroups<T> other) {
+        for (int slot = 0; slot < other.keys.length; slot++) {
+            Object[] bucket = other.buckets[slot];
+            for (int i = 0; bucket != null && i < other.bucketSizes[slot]; i++) {
+                add(other.keys[slot], (T) bucket[i]);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int key : keys()) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(key).append('=').append(get(key));
+        }
+        return sb.append('}').toString();
+    }
+
+    private int slotFor(int key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (buckets[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void append(int slot, Object element) {
+        Object[] bucket = buckets[slot];
+        int count = bucketSizes[slot];
+        if (count == bucket.length) {
+            bucket = Arrays.copyOf(bucket, count * 2);
+            buckets[slot] = bucket;
+        }
+        bucket[count] = element;
+        bucketSizes[slot] = count + 1;
+    }
+
+    private void resize() {
+        int[] oldKeys = keys;
+        Object[][] oldBuckets = buckets;
+        int[] oldSizes = bucketSizes;
+        keys = new int[oldKeys.length * 2];
+        buckets = new Object[oldKeys.length * 2][];
+        bucketSizes = new int[oldKeys.length * 2];
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldBuckets[slot] != null) {
+                int target = slotFor(oldKeys[slot]);
+                keys[target] = oldKeys[slot];
+                buckets[target] = oldBuckets[slot];
+                bucketSizes[target] = oldSizes[slot];
+            }
+        }
+    }
+
+    /** Spreads sequential keys (lengths, ids) so linear probing does not build long clusters. */
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,341 @@
+package ch10.examples;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * One-pass summary of a primitive array: count, sum, average, variance, minimum and maximum,
+ * computed without boxing as an alternative to streaming a {@code List<Integer>} the way
+ * {@link OptionalExamples#average(java.util.List)} does.
+ *
+ * <ul>
+ *   <li>The sum uses Kahan–Babuška (Neumaier) compensated summation, so long arrays of doubles do
+ *       not accumulate rounding error the way a plain {@code +=} loop does.</li>
+ *   <li>The variance uses Welford's update, and partial results are merged with the pairwise
+ *       formula of Chan et al., so it stays accurate when the mean is large relative to the
+ *       spread.</li>
+ *   <li>In parallel mode the array is split into {@link #PARALLEL_LEAF_SIZE}-element ranges that are
+ *       summarised on the common fork/join pool and merged pairwise.</li>
+ * </ul>
+ *
+ * <p>Values are summarised as {@code double}s, so {@code long} inputs beyond 2<sup>53</sup> lose
+ * precision. Percentiles need the whole distribution and are offered separately by
+ * {@link #percentile(double[], double)} and its overloads. Instances are immutable.
+ */
+public final class NumericStatistics {
+
+    /** Range size summarised by a single task in parallel mode. */
+    static final int PARALLEL_LEAF_SIZE = 1 << 16;
+
+    /** Array length from which {@link OptionalExamples#average(int[])} switches to parallel mode. */
+    static final int PARALLEL_THRESHOLD = 1 << 20;
+
+    private final long count;
+    private final double sum;
+    private final double mean;
+    private final double m2;
+    private final double min;
+    private final double max;
+
+    private NumericStatistics(Accumulator accumulator) {
+        this.count = accumulator.count;
+        this.sum = accumulator.sum();
+        this.mean = accumulator.mean;
+        this.m2 = accumulator.m2;
+        this.min = accumulator.min;
+        this.max = accumulator.max;
+    }
+
+    /** @return sequential summary of {@code values} */
+    public static NumericStatistics of(int[] values) {
+        return of(values, false);
+    }
+
+    /** @return summary of {@code values}, split across the common pool when {@code parallel} */
+    public static NumericStatistics of(int[] values, boolean parallel) {
+        Objects.requireNonNull(values);
+        return summarize(values.length, parallel, (accumulator, from, to) -> {
+            for (int i = from; i < to; i++) {
+                accumulator.accept(values[i]);
+            }
+        });
+    }
+
+    /** @return sequential summary of {@code values} */
+    public static NumericStatistics of(long[] values) {
+        return of(values, false);
+    }
+
+    /** @return summary of {@code values}, split across the common pool when {@code parallel} */
+    public static NumericStatistics of(long[] values, boolean parallel) {
+        Objects.requireNonNull(values);
+        return summarize(values.length, parallel, (accumulator, from, to) -> {
+            for (int i = from; i < to; i++) {
+                accumulator.accept(values[i]);
+            }
+        });
+    }
+
+    /** @return sequential summary of {@code values} */
+    public static NumericStatistics of(double[] values) {
+        return of(values, false);
+    }
+
+    /** @return summary of {@code values}, split across the common pool when {@code parallel} */
+    public static NumericStatistics of(double[] values, boolean parallel) {
+        Objects.requireNonNull(values);
+        return summarize(values.length, parallel, (accumulator, from, to) -> {
+            for (int i = from; i < to; i++) {
+                accumulator.accept(values[i]);
+            }
+        });
+    }
+
+    /** @return number of values */
+    public long count() {
+        return count;
+    }
+
+    /** @return compensated sum; {@code 0.0} when empty */
+    public double sum() {
+        return sum;
+    }
+
+    /** @return arithmetic mean, empty when there are no values */
+    public OptionalDouble average() {
+        return count == 0 ? OptionalDouble.empty() : OptionalDouble.of(sum / count);
+    }
+
+    /** @return smallest value, empty when there are no values */
+    public OptionalDouble min() {
+        return count == 0 ? OptionalDouble.empty() : OptionalDouble.of(min);
+    }
+
+    /** @return largest value, empty when there are no values */
+    public OptionalDouble max() {
+        return count == 0 ? OptionalDouble.empty() : OptionalDouble.of(max);
+    }
+
+    /** @return population variance (divided by {@code n}), empty when there are no values */
+    public OptionalDouble variance() {
+        return count == 0 ? OptionalDouble.empty() : OptionalDouble.of(m2 / count);
+    }
+
+    /** @return sample variance (divided by {@code n - 1}), empty with fewer than two values */
+    public OptionalDouble sampleVariance() {
+        return count < 2 ? OptionalDouble.empty() : OptionalDouble.of(m2 / (count - 1));
+    }
+
+    /** @return population standard deviation, empty when there are no values */
+    public OptionalDouble standardDeviation() {
+        return count == 0 ? OptionalDouble.empty() : OptionalDouble.of(Math.sqrt(m2 / count));
+    }
+
+    /** @return {@code p}-th percentile ({@code 0..100}) of {@code values}; see {@link #percentile(double[], double)} */
+    public static OptionalDouble percentile(int[] values, double p) {
+        double[] copy = new double[values.length];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = values[i];
+        }
+        return percentileInPlace(copy, p);
+    }
+
+    /** @return {@code p}-th percentile ({@code 0..100}) of {@code values}; see {@link #percentile(double[], double)} */
+    public static OptionalDouble percentile(long[] values, double p) {
+        double[] copy = new double[values.length];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = values[i];
+        }
+        return percentileInPlace(copy, p);
+    }
+
+    /**
+     * Exact percentile with linear interpolation between the two nearest ranks (the default of most
+     * statistics packages). The input is copied and the copy partially ordered by quickselect, so
+     * the cost is linear on average rather than the {@code n log n} of a full sort. NaN values are
+     * not supported.
+     *
+     * @return {@code p}-th percentile, empty for an empty array
+     * @throws IllegalArgumentException if {@code p} is outside {@code 0..100}
+     */
+    public static OptionalDouble percentile(double[] values, double p) {
+        return percentileInPlace(Arrays.copyOf(values, values.length), p);
+    }
+
+    @Override
+    public String toString() {
+        return "NumericStatistics[count=" + count + ", sum=" + sum + ", min=" + min + ", max=" + max
+            + ", average=" + (count == 0 ? Double.NaN : sum / count) + ", variance=" + (count == 0 ? Double.NaN : m2 / count) + "]";
+    }
+
+    private static NumericStatistics summarize(int length, boolean parallel, RangeSummarizer summarizer) {
+        Accumulator accumulator;
+        if (parallel && length > PARALLEL_LEAF_SIZE) {
+            accumulator = ForkJoinPool.commonPool().invoke(new SummaryTask(summarizer, 0, length));
+        } else {
+            accumulator = new Accumulator();
+            summarizer.accumulate(accumulator, 0, length);
+        }
+        return new NumericStatistics(accumulator);
+    }
+
+    private static OptionalDouble percentileInPlace(double[] values, double p) {
+        if (!(p >= 0.0 && p <= 100.0)) {
+            throw new IllegalArgumentException("percentile must be within 0..100: " + p);
+        }
+        if (values.length == 0) {
+            return OptionalDouble.empty();
+        }
+        double rank = p / 100.0 * (values.length - 1);
+        int lower = (int) Math.floor(rank);
+        double lowerValue = select(values, lower);
+        if (lower == values.length - 1) {
+            return OptionalDouble.of(lowerValue);
+        }
+        // select() leaves every element after index 'lower' greater than or equal to it.
+        double upperValue = values[lower + 1];
+        for (int i = lower + 2; i < values.length; i++) {
+            upperValue = Math.min(upperValue, values[i]);
+        }
+        return OptionalDouble.of(lowerValue + (rank - lower) * (upperValue - lowerValue));
+    }
+
+    /** Hoare-style quickselect with median-of-three pivots; leaves the {@code k}-th smallest at index {@code k}. */
+    private static double select(double[] values, int k) {
+        int left = 0;
+        int right = values.length - 1;
+        while (right > left) {
+            int middle = (left + right) >>> 1;
+            double pivot = medianOfThree(values[left], values[middle], values[right]);
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (values[i] < pivot) {
+                    i++;
+                }
+                while (values[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    double swap = values[i];
+                    values[i] = values[j];
+                    values[j] = swap;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                break;
+            }
+        }
+        return values[k];
+    }
+
+    private static double medianOfThree(double a, double b, double c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    /** Feeds the elements of {@code [from, to)} of some primitive array to an accumulator. */
+    @FunctionalInterface
+    private interface RangeSummarizer {
+        void accumulate(Accumulator accumulator, int from, int to);
+    }
+
+    /** Mutable running state for one range. */
+    private static final class Accumulator {
+
+        private long count;
+        private double sum;
+        private double compensation;
+        private double simpleSum;
+        private double mean;
+        private double m2;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        void accept(double value) {
+            count++;
+            add(value);
+            simpleSum += value;
+            double delta = value - mean;
+            mean += delta / count;
+            m2 += delta * (value - mean);
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        /** Neumaier's variant of Kahan summation, which also handles addends larger than the running sum. */
+        private void add(double value) {
+            double total = sum + value;
+            if (Math.abs(sum) >= Math.abs(value)) {
+                compensation += (sum - total) + value;
+            } else {
+                compensation += (value - total) + sum;
+            }
+            sum = total;
+        }
+
+        void combine(Accumulator other) {
+            if (other.count == 0) {
+                return;
+            }
+            long total = count + other.count;
+            double delta = other.mean - mean;
+            mean += delta * other.count / total;
+            m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+            add(other.sum);
+            compensation += other.compensation;
+            simpleSum += other.simpleSum;
+            count = total;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+
+        double sum() {
+            double compensated = sum + compensation;
+            // Infinite addends make the compensation NaN; the plain sum has the right infinity.
+            if (Double.isNaN(compensated) && Double.isInfinite(simpleSum)) {
+                return simpleSum;
+            }
+            return compensated;
+        }
+    }
+
+    /** Splits a range in half until it is at most {@link #PARALLEL_LEAF_SIZE} long. */
+    private static final class SummaryTask extends RecursiveTask<Accumulator> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient RangeSummarizer summarizer;
+        private final int from;
+        private final int to;
+
+        SummaryTask(RangeSummarizer summarizer, int from, int to) {
+            this.summarizer = summarizer;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Accumulator compute() {
+            if (to - from <= PARALLEL_LEAF_SIZE) {
+                Accumulator accumulator = new Accumulator();
+                summarizer.accumulate(accumulator, from, to);
+                return accumulator;
+            }
+            int middle = (from + to) >>> 1;
+            SummaryTask right = new SummaryTask(summarizer, middle, to);
+            right.fork();
+            Accumulator left = new SummaryTask(summarizer, from, middle).compute();
+            left.combine(right.join());
+            return left;
+        }
+    }
+}
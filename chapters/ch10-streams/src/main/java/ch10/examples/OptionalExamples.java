@@ -2,6 +2,7 @@ package ch10.examples;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalDouble;
 
 /**
  * Demonstrates Optional creation and consumption patterns from Chapter 10 "Working with Advanced
@@ -28,6 +29,18 @@ public final class OptionalExamples {
         return Optional.of(total / scores.size());
     }
 
+    /**
+     * Primitive counterpart of {@link #average(List)}: the scores are summarised in one pass by
+     * {@link NumericStatistics} without boxing, in parallel for very large arrays, and the result is
+     * an {@link OptionalDouble}.
+     */
+    public static OptionalDouble average(int[] scores) {
+        if (scores == null) {
+            return OptionalDouble.empty();
+        }
+        return NumericStatistics.of(scores, scores.length >= NumericStatistics.PARALLEL_THRESHOLD).average();
+    }
+
     /**
      * @return human-readable description using {@link Optional#orElse(Object)}
      */
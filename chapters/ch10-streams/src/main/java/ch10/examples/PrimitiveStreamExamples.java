@@ -1,5 +1,6 @@
 package ch10.examples;
 
+import java.math.BigInteger;
 import java.util.IntSummaryStatistics;
 import java.util.OptionalDouble;
 import java.util.stream.DoubleStream;
@@ -34,14 +35,35 @@ public final class PrimitiveStreamExamples {
         return IntStream.range(startInclusive, endExclusive).summaryStatistics();
     }
 
+    /**
+     * Estimates percentiles of a stream that is too large to sort, e.g. {@code latencyPercentiles(latencies,
+     * 0.5, 0.99, 0.999)}, by collecting it into a {@link QuantileSketch}. Parallel streams build one
+     * sketch per thread and merge them.
+     *
+     * @return approximate value at each requested fraction ({@code 0..1})
+     * @throws IllegalStateException if {@code values} is empty
+     */
+    public static double[] latencyPercentiles(IntStream values, double... fractions) {
+        return QuantileSketch.of(values).quantiles(fractions);
+    }
+
     /**
      * Shows {@link LongStream#range(long, long)} combined with {@link LongStream#reduce(long, java.util.function.LongBinaryOperator)}
-     * to compute a product.
+     * to compute a product. The {@code long} result silently overflows for large products (for
+     * example past {@code 20!}); {@link #productExact(long, long)} does not.
      */
     public static long productUsingLongStream(long start, long count) {
         return LongStream.range(start, start + count).reduce(1L, (a, b) -> a * b);
     }
 
+    /**
+     * @return exact product of the same range as {@link #productUsingLongStream(long, long)},
+     *     switching from {@code long} to a parallel {@link BigInteger} product tree on overflow
+     */
+    public static BigInteger productExact(long start, long count) {
+        return ExactProduct.ofRange(start, count);
+    }
+
     /**
      * Uses {@link DoubleStream#generate(java.util.function.DoubleSupplier)} and {@link DoubleStream#limit(long)}
      * to produce a finite stream of random values and sum them.
@@ -0,0 +1,325 @@
+package ch10.examples;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+
+/**
+ * Mergeable quantile sketch in the style of KLL (Karnin, Lang and Liberty, 2016) for streams too
+ * large to sort, complementing the count/min/max/average of
+ * {@link PrimitiveStreamExamples#summaryStats(int, int)}.
+ *
+ * <p>The sketch is a stack of compactors. Level {@code h} holds values that each stand for
+ * 2<sup>h</sup> inputs; when the sketch exceeds its capacity, the lowest full level is sorted and
+ * every other value (starting at a random offset) is promoted to the level above, halving its size
+ * while preserving total weight. Level capacities shrink geometrically from {@code k} at the top,
+ * so memory stays around {@code 3k} values regardless of stream length, while the minimum and
+ * maximum are tracked exactly.
+ *
+ * <p>Quantile answers carry an additive <em>rank</em> error of roughly {@code 1.7 / k} with high
+ * probability: the default {@code k = 200} places p50 and p99 within about one percentile, but a
+ * p999 that must be meaningful needs {@code k} in the low thousands. Sketches built with the same
+ * {@code k} can be {@linkplain #merge merged}, which is what makes them usable as the combiner of a
+ * parallel {@code collect}:
+ *
+ * <pre>{@code
+ * QuantileSketch sketch = latencies.parallel()
+ *     .collect(QuantileSketch::new, QuantileSketch::accept, QuantileSketch::merge);
+ * double p99 = sketch.quantile(0.99).orElseThrow();
+ * }</pre>
+ *
+ * NaN inputs are ignored. Instances are not thread-safe.
+ */
+public final class QuantileSketch implements DoubleConsumer {
+
+    /** Default accuracy parameter. */
+    public static final int DEFAULT_K = 200;
+
+    private static final int MIN_LEVEL_CAPACITY = 8;
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+
+    private final int k;
+    private double[][] levels = new double[1][];
+    private int[] sizes = new int[1];
+    private int levelCount = 1;
+    private int retained;
+    private int capacity;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public QuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    public QuantileSketch(int k) {
+        if (k < MIN_LEVEL_CAPACITY) {
+            throw new IllegalArgumentException("k must be at least " + MIN_LEVEL_CAPACITY + ": " + k);
+        }
+        this.k = k;
+        levels[0] = new double[k];
+        capacity = totalCapacity();
+    }
+
+    /** @return sketch of every value in {@code values}, merging per-thread sketches for parallel streams */
+    public static QuantileSketch of(IntStream values) {
+        return values.collect(QuantileSketch::new, QuantileSketch::accept, QuantileSketch::merge);
+    }
+
+    /** @return sketch of every value in {@code values}, merging per-thread sketches for parallel streams */
+    public static QuantileSketch of(DoubleStream values) {
+        return values.collect(QuantileSketch::new, QuantileSketch::accept, QuantileSketch::merge);
+    }
+
+    /** @return collector that sketches the {@code double} extracted from each element */
+    public static <T> Collector<T, ?, QuantileSketch> toSketch(ToDoubleFunction<? super T> mapper) {
+        Objects.requireNonNull(mapper);
+        return Collector.of(
+            QuantileSketch::new,
+            (sketch, element) -> sketch.accept(mapper.applyAsDouble(element)),
+            (left, right) -> {
+                left.merge(right);
+                return left;
+            },
+            Collector.Characteristics.IDENTITY_FINISH,
+            Collector.Characteristics.UNORDERED);
+    }
+
+    /** Adds one value; NaN is ignored. */
+    @Override
+    public void accept(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        append(0, value);
+        retained++;
+        compressIfFull();
+    }
+
+    /**
+     * Folds {@code other} into this sketch; {@code other} is left unchanged.
+     *
+     * @throws IllegalArgumentException if the sketches use different {@code k}
+     */
+    public void merge(QuantileSketch other) {
+        if (other.k != k) {
+            throw new IllegalArgumentException("Cannot merge sketches with k=" + k + " and k=" + other.k);
+        }
+        if (other.count == 0) {
+            return;
+        }
+        while (levelCount < other.levelCount) {
+            addLevel();
+        }
+        for (int h = 0; h < other.levelCount; h++) {
+            for (int i = 0; i < other.sizes[h]; i++) {
+                append(h, other.levels[h][i]);
+            }
+            retained += other.sizes[h];
+        }
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        compressIfFull();
+    }
+
+    /** @return number of values added, including those represented only by weight */
+    public long count() {
+        return count;
+    }
+
+    /** @return number of values the sketch currently stores */
+    public int retained() {
+        return retained;
+    }
+
+    /** @return exact minimum, empty when nothing was added */
+    public OptionalDouble min() {
+        return count == 0 ? OptionalDouble.empty() : OptionalDouble.of(min);
+    }
+
+    /** @return exact maximum, empty when nothing was added */
+    public OptionalDouble max() {
+        return count == 0 ? OptionalDouble.empty() : OptionalDouble.of(max);
+    }
+
+    /**
+     * @return approximate value at {@code fraction} ({@code 0..1}) of the sorted input, e.g.
+     *     {@code 0.99} for p99; empty when nothing was added
+     */
+    public OptionalDouble quantile(double fraction) {
+        checkFraction(fraction);
+        return count == 0 ? OptionalDouble.empty() : OptionalDouble.of(quantiles(fraction)[0]);
+    }
+
+    /**
+     * @return approximate values at each of {@code fractions}, sharing one sorted view of the sketch
+     * @throws IllegalStateException if nothing was added
+     */
+    public double[] quantiles(double... fractions) {
+        for (double fraction : fractions) {
+            checkFraction(fraction);
+        }
+        if (count == 0) {
+            throw new IllegalStateException("Sketch is empty");
+        }
+        SortedView view = sortedView();
+        double[] result = new double[fractions.length];
+        for (int i = 0; i < fractions.length; i++) {
+            result[i] = view.quantile(fractions[i]);
+        }
+        return result;
+    }
+
+    /** @return approximate fraction of inputs less than or equal to {@code value} */
+    public double rank(double value) {
+        if (count == 0) {
+            return 0.0;
+        }
+        long weight = 0;
+        for (int h = 0; h < levelCount; h++) {
+            for (int i = 0; i < sizes[h]; i++) {
+                if (levels[h][i] <= value) {
+                    weight += 1L << h;
+                }
+            }
+        }
+        return (double) weight / count;
+    }
+
+    @Override
+    public String toString() {
+        return "QuantileSketch[k=" + k + ", count=" + count + ", retained=" + retained + ", levels=" + levelCount + "]";
+    }
+
+    private static void checkFraction(double fraction) {
+        if (!(fraction >= 0.0 && fraction <= 1.0)) {
+            throw new IllegalArgumentException("fraction must be within 0..1: " + fraction);
+        }
+    }
+
+    private void append(int level, double value) {
+        double[] values = levels[level];
+        if (sizes[level] == values.length) {
+            values = levels[level] = Arrays.copyOf(values, Math.max(MIN_LEVEL_CAPACITY, values.length * 2));
+        }
+        values[sizes[level]++] = value;
+    }
+
+    private void compressIfFull() {
+        while (retained >= capacity) {
+            compactLowestFullLevel();
+        }
+    }
+
+    /** Halves the lowest level at or over its capacity, promoting every other sorted value one level up. */
+    private void compactLowestFullLevel() {
+        int h = 0;
+        while (sizes[h] < levelCapacity(h)) {
+            h++;
+        }
+        if (h + 1 == levelCount) {
+            addLevel();
+        }
+        double[] values = levels[h];
+        int size = sizes[h];
+        Arrays.sort(values, 0, size);
+        // With an odd count the smallest value stays behind so that weight is preserved exactly.
+        int start = size & 1;
+        int promoted = 0;
+        for (int i = start + ThreadLocalRandom.current().nextInt(2); i < size; i += 2) {
+            append(h + 1, values[i]);
+            promoted++;
+        }
+        sizes[h] = start;
+        retained -= (size - start) - promoted;
+    }
+
+    private void addLevel() {
+        if (levelCount == levels.length) {
+            levels = Arrays.copyOf(levels, levelCount * 2);
+            sizes = Arrays.copyOf(sizes, levelCount * 2);
+        }
+        levels[levelCount] = new double[MIN_LEVEL_CAPACITY];
+        levelCount++;
+        capacity = totalCapacity();
+    }
+
+    private int levelCapacity(int level) {
+        int depth = levelCount - 1 - level;
+        return Math.max(MIN_LEVEL_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    private int totalCapacity() {
+        int total = 0;
+        for (int h = 0; h < levelCount; h++) {
+            total += levelCapacity(h);
+        }
+        return total;
+    }
+
+    /** Retained values merged across levels into one sorted array with cumulative weights. */
+    private SortedView sortedView() {
+        double[] values = new double[0];
+        long[] weights = new long[0];
+        for (int h = 0; h < levelCount; h++) {
+            double[] level = Arrays.copyOf(levels[h], sizes[h]);
+            Arrays.sort(level);
+            double[] mergedValues = new double[values.length + level.length];
+            long[] mergedWeights = new long[mergedValues.length];
+            int i = 0;
+            int j = 0;
+            for (int out = 0; out < mergedValues.length; out++) {
+                if (j == level.length || (i < values.length && values[i] <= level[j])) {
+                    mergedValues[out] = values[i];
+                    mergedWeights[out] = weights[i++];
+                } else {
+                    mergedValues[out] = level[j++];
+                    mergedWeights[out] = 1L << h;
+                }
+            }
+            values = mergedValues;
+            weights = mergedWeights;
+        }
+        for (int i = 1; i < weights.length; i++) {
+            weights[i] += weights[i - 1];
+        }
+        return new SortedView(values, weights);
+    }
+
+    /** Sorted retained values and their cumulative weights. */
+    private final class SortedView {
+
+        private final double[] values;
+        private final long[] cumulativeWeights;
+
+        SortedView(double[] values, long[] cumulativeWeights) {
+            this.values = values;
+            this.cumulativeWeights = cumulativeWeights;
+        }
+
+        double quantile(double fraction) {
+            if (fraction == 0.0) {
+                return min;
+            }
+            if (fraction == 1.0) {
+                return max;
+            }
+            long target = (long) Math.ceil(fraction * count);
+            int index = Arrays.binarySearch(cumulativeWeights, target);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return values[Math.min(index, values.length - 1)];
+        }
+    }
+}
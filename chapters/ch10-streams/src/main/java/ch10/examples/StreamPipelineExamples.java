@@ -26,7 +26,15 @@ public final class StreamPipelineExamples {
      * Trims, filters, sorts, and collects, mirroring the chapter's introductory pipeline example.
      */
     public static List<String> mapAndFilter(List<String> values) {
-        return values.stream()
+        return mapAndFilter(values.stream());
+    }
+
+    /**
+     * Source-agnostic variant of {@link #mapAndFilter(List)}; pass a parallel stream to run the same
+     * pipeline across the common fork-join pool.
+     */
+    public static List<String> mapAndFilter(Stream<String> values) {
+        return values
             .map(String::trim)
             .filter(s -> s.length() > 3)
             .sorted()
@@ -66,14 +74,37 @@ public final class StreamPipelineExamples {
      * Applies {@link Collectors#groupingBy} to bucket words by length, echoing the grouping examples.
      */
     public static Map<Integer, List<String>> groupingByLength(List<String> words) {
-        return words.stream().collect(Collectors.groupingBy(String::length));
+        return groupingByLength(words.stream());
+    }
+
+    /** Source-agnostic variant of {@link #groupingByLength(List)}. */
+    public static Map<Integer, List<String>> groupingByLength(Stream<String> words) {
+        return words.collect(Collectors.groupingBy(String::length));
+    }
+
+    /**
+     * Buckets words by length like {@link #groupingByLength(List)} but collects into an
+     * {@link IntKeyedGroups} so the length keys are never boxed.
+     */
+    public static IntKeyedGroups<String> groupingByLengthUnboxed(List<String> words) {
+        return groupingByLengthUnboxed(words.stream());
+    }
+
+    /** Source-agnostic variant of {@link #groupingByLengthUnboxed(List)}. */
+    public static IntKeyedGroups<String> groupingByLengthUnboxed(Stream<String> words) {
+        return words.collect(IntKeyedGroups.groupingByInt(String::length));
     }
 
     /**
      * Uses {@link Collectors#partitioningBy} to produce {@code true/false} lists based on parity.
      */
     public static Map<Boolean, List<String>> partitionByLength(List<String> words) {
-        return words.stream().collect(Collectors.partitioningBy(word -> word.length() % 2 == 0));
+        return partitionByLength(words.stream());
+    }
+
+    /** Source-agnostic variant of {@link #partitionByLength(List)}. */
+    public static Map<Boolean, List<String>> partitionByLength(Stream<String> words) {
+        return words.collect(Collectors.partitioningBy(word -> word.length() % 2 == 0));
     }
 
     /**
@@ -87,14 +118,24 @@ public final class StreamPipelineExamples {
      * Shows {@link Collectors#toMap} with a merge function to resolve duplicate keys.
      */
     public static Map<Integer, String> toMapWithMerge(List<String> names) {
-        return names.stream().collect(Collectors.toMap(String::length, Function.identity(), (existing, replacement) -> existing + "/" + replacement));
+        return toMapWithMerge(names.stream());
+    }
+
+    /** Source-agnostic variant of {@link #toMapWithMerge(List)}. */
+    public static Map<Integer, String> toMapWithMerge(Stream<String> names) {
+        return names.collect(Collectors.toMap(String::length, Function.identity(), (existing, replacement) -> existing + "/" + replacement));
     }
 
     /**
      * Demonstrates reduction without an identity value, yielding an {@link Optional}.
      */
     public static Optional<String> reduceConcatenate(List<String> values) {
-        return values.stream().reduce((a, b) -> a + "-" + b);
+        return reduceConcatenate(values.stream());
+    }
+
+    /** Source-agnostic variant of {@link #reduceConcatenate(List)}. */
+    public static Optional<String> reduceConcatenate(Stream<String> values) {
+        return values.reduce((a, b) -> a + "-" + b);
     }
 
     /**
@@ -102,6 +143,11 @@ public final class StreamPipelineExamples {
      * collecting into a {@link Set}.
      */
     public static Set<String> sortedDistinctCapped(List<String> values, long limit) {
-        return values.stream().distinct().sorted(Comparator.naturalOrder()).limit(limit).collect(Collectors.toSet());
+        return sortedDistinctCapped(values.stream(), limit);
+    }
+
+    /** Source-agnostic variant of {@link #sortedDistinctCapped(List, long)}. */
+    public static Set<String> sortedDistinctCapped(Stream<String> values, long limit) {
+        return values.distinct().sorted(Comparator.naturalOrder()).limit(limit).collect(Collectors.toSet());
     }
 }
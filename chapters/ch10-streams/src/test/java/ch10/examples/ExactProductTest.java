@@ -0,0 +1,45 @@
+package ch10.examples;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigInteger;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+class ExactProductTest {
+
+    @Test
+    void smallProductsStayInLongArithmetic() {
+        assertEquals(BigInteger.valueOf(2_432_902_008_176_640_000L), ExactProduct.ofRange(1, 20));
+        assertEquals(BigInteger.ONE, ExactProduct.ofRange(7, 0));
+        assertEquals(BigInteger.ONE, ExactProduct.of());
+    }
+
+    @Test
+    void largeRangesMatchNaiveBigIntegerReduce() {
+        // Long enough to cross the parallel threshold several times.
+        long count = 5L * ExactProduct.PARALLEL_THRESHOLD;
+        assertEquals(naive(LongStream.range(1, 1 + count)), ExactProduct.ofRange(1, count));
+        assertEquals(naive(LongStream.range(1_000_000_000L, 1_000_000_000L + 300)), ExactProduct.ofRange(1_000_000_000L, 300));
+    }
+
+    @Test
+    void signsAndZerosAreHandled() {
+        assertEquals(naive(LongStream.rangeClosed(-30, -1)), ExactProduct.ofRange(-30, 30));
+        assertEquals(BigInteger.ZERO, ExactProduct.ofRange(-5, 100));
+        assertEquals(BigInteger.valueOf(Long.MIN_VALUE).multiply(BigInteger.valueOf(Long.MIN_VALUE)),
+            ExactProduct.of(Long.MIN_VALUE, Long.MIN_VALUE));
+    }
+
+    @Test
+    void rejectsInvalidRanges() {
+        assertThrows(IllegalArgumentException.class, () -> ExactProduct.ofRange(1, -1));
+        assertThrows(IllegalArgumentException.class, () -> ExactProduct.ofRange(Long.MAX_VALUE, 2));
+    }
+
+    private static BigInteger naive(LongStream values) {
+        return values.mapToObj(BigInteger::valueOf).reduce(BigInteger.ONE, BigInteger::multiply);
+    }
+}
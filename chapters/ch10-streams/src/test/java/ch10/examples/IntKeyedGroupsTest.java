@@ -0,0 +1,35 @@
+package ch10.examples;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class IntKeyedGroupsTest {
+
+    @Test
+    void groupsWordsByLengthInEncounterOrder() {
+        IntKeyedGroups<String> groups = StreamPipelineExamples.groupingByLengthUnboxed(List.of("ant", "bear", "cougar", "cat"));
+        assertArrayEquals(new int[] {3, 4, 6}, groups.keys());
+        assertEquals(List.of("ant", "cat"), groups.get(3));
+        assertEquals(1, groups.count(6));
+        assertTrue(groups.get(5).isEmpty());
+        assertFalse(groups.containsKey(5));
+    }
+
+    @Test
+    void matchesGroupingByAcrossResizesAndParallelMerges() {
+        List<Integer> values = IntStream.range(0, 50_000).boxed().toList();
+        Map<Integer, List<Integer>> expected = values.stream().collect(Collectors.groupingBy(v -> v % 997 - 400));
+        IntKeyedGroups<Integer> groups = values.parallelStream().collect(IntKeyedGroups.groupingByInt(v -> v % 997 - 400));
+        assertEquals(expected.size(), groups.size());
+        expected.forEach((key, list) -> assertEquals(list, groups.get(key)));
+    }
+}
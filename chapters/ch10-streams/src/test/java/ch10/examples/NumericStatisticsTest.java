@@ -0,0 +1,92 @@
+package ch10.examples;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class NumericStatisticsTest {
+
+    @Test
+    void summarisesIntArray() {
+        NumericStatistics stats = NumericStatistics.of(new int[] {2, 4, 4, 4, 5, 5, 7, 9});
+        assertEquals(8, stats.count());
+        assertEquals(40.0, stats.sum());
+        assertEquals(5.0, stats.average().orElseThrow());
+        assertEquals(4.0, stats.variance().orElseThrow(), 1e-12);
+        assertEquals(2.0, stats.standardDeviation().orElseThrow(), 1e-12);
+        assertEquals(32.0 / 7, stats.sampleVariance().orElseThrow(), 1e-12);
+        assertEquals(2.0, stats.min().orElseThrow());
+        assertEquals(9.0, stats.max().orElseThrow());
+    }
+
+    @Test
+    void emptyArrayHasNoAverage() {
+        NumericStatistics stats = NumericStatistics.of(new long[0]);
+        assertEquals(0, stats.count());
+        assertTrue(stats.average().isEmpty());
+        assertTrue(stats.variance().isEmpty());
+        assertTrue(stats.min().isEmpty());
+    }
+
+    @Test
+    void compensatedSumIsExactWhereNaiveLoopDrifts() {
+        double[] tenths = new double[1_000_000];
+        Arrays.fill(tenths, 0.1);
+        assertEquals(100_000.0, NumericStatistics.of(tenths).sum());
+        assertEquals(1.0, NumericStatistics.of(new double[] {1e100, 1.0, -1e100}).sum());
+    }
+
+    @Test
+    void varianceSurvivesLargeOffset() {
+        double[] values = {1e9 + 4, 1e9 + 7, 1e9 + 13, 1e9 + 16};
+        assertEquals(22.5, NumericStatistics.of(values).variance().orElseThrow(), 1e-6);
+    }
+
+    @Test
+    void parallelModeMatchesSequential() {
+        int[] values = new Random(7).ints(1_000_000, -1_000, 1_000).toArray();
+        NumericStatistics sequential = NumericStatistics.of(values);
+        NumericStatistics parallel = NumericStatistics.of(values, true);
+        assertEquals(sequential.sum(), parallel.sum());
+        assertEquals(sequential.variance().orElseThrow(), parallel.variance().orElseThrow(), 1e-9);
+        assertEquals(sequential.min(), parallel.min());
+        assertEquals(sequential.max(), parallel.max());
+        assertEquals(IntStream.of(values).average().orElseThrow(), parallel.average().orElseThrow(), 1e-12);
+    }
+
+    @Test
+    void percentilesInterpolateBetweenRanks() {
+        int[] oneToHundred = IntStream.rangeClosed(1, 100).toArray();
+        shuffle(oneToHundred);
+        assertEquals(1.0, NumericStatistics.percentile(oneToHundred, 0).orElseThrow());
+        assertEquals(50.5, NumericStatistics.percentile(oneToHundred, 50).orElseThrow(), 1e-12);
+        assertEquals(99.01, NumericStatistics.percentile(oneToHundred, 99).orElseThrow(), 1e-9);
+        assertEquals(100.0, NumericStatistics.percentile(oneToHundred, 100).orElseThrow());
+        assertEquals(3.0, NumericStatistics.percentile(new long[] {3, 3, 3}, 50).orElseThrow());
+        assertTrue(NumericStatistics.percentile(new double[0], 50).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> NumericStatistics.percentile(oneToHundred, 101));
+    }
+
+    @Test
+    void percentileLeavesInputUntouched() {
+        double[] values = {5, 1, 4, 2, 3};
+        NumericStatistics.percentile(values, 50);
+        assertEquals("[5.0, 1.0, 4.0, 2.0, 3.0]", Arrays.toString(values));
+    }
+
+    private static void shuffle(int[] values) {
+        Random random = new Random(3);
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+    }
+}
@@ -15,6 +15,13 @@ class OptionalExamplesTest {
         assertTrue(OptionalExamples.average(List.of()).isEmpty());
     }
 
+    @Test
+    void primitiveAverageReturnsOptionalDouble() {
+        assertEquals(95.0, OptionalExamples.average(new int[] {90, 100}).orElseThrow());
+        assertTrue(OptionalExamples.average(new int[0]).isEmpty());
+        assertTrue(OptionalExamples.average((int[]) null).isEmpty());
+    }
+
     @Test
     void describeUsesDefault() {
         assertEquals("Unknown", OptionalExamples.describe(java.util.Optional.empty()));
@@ -3,6 +3,9 @@ package ch10.examples;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.math.BigInteger;
+import java.util.stream.IntStream;
+
 import org.junit.jupiter.api.Test;
 
 class PrimitiveStreamExamplesTest {
@@ -21,11 +24,24 @@ class PrimitiveStreamExamplesTest {
         assertEquals(10, stats.getSum());
     }
 
+    @Test
+    void latencyPercentilesFromParallelStream() {
+        double[] percentiles = PrimitiveStreamExamples.latencyPercentiles(IntStream.rangeClosed(1, 100_000).parallel(), 0.5, 0.99);
+        assertEquals(50_000, percentiles[0], 2_000);
+        assertEquals(99_000, percentiles[1], 2_000);
+    }
+
     @Test
     void productUsingLongStream() {
         assertEquals(120, PrimitiveStreamExamples.productUsingLongStream(1, 5));
     }
 
+    @Test
+    void productExactDoesNotOverflow() {
+        assertEquals(120, PrimitiveStreamExamples.productExact(1, 5).longValueExact());
+        assertEquals(new BigInteger("15511210043330985984000000"), PrimitiveStreamExamples.productExact(1, 25));
+    }
+
     @Test
     void sumRandomDoublesWithinRange() {
         double sum = PrimitiveStreamExamples.sumRandomDoubles(3);
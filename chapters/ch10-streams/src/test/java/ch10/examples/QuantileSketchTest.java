@@ -0,0 +1,93 @@
+package ch10.examples;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class QuantileSketchTest {
+
+    private static final int N = 1_000_000;
+
+    @Test
+    void smallInputsAreExact() {
+        QuantileSketch sketch = QuantileSketch.of(IntStream.of(5, 1, 4, 2, 3));
+        assertEquals(3.0, sketch.quantile(0.5).orElseThrow());
+        assertEquals(1.0, sketch.quantile(0.0).orElseThrow());
+        assertEquals(5.0, sketch.quantile(1.0).orElseThrow());
+        assertEquals(0.4, sketch.rank(2.0), 1e-12);
+    }
+
+    @Test
+    void parallelStreamQuantilesAreWithinRankError() {
+        QuantileSketch sketch = QuantileSketch.of(shuffledRange().parallel());
+        assertEquals(N, sketch.count());
+        double[] q = sketch.quantiles(0.5, 0.9, 0.99);
+        assertEquals(0.50 * N, q[0], 0.02 * N);
+        assertEquals(0.90 * N, q[1], 0.02 * N);
+        assertEquals(0.99 * N, q[2], 0.02 * N);
+        assertEquals(1.0, sketch.min().orElseThrow());
+        assertEquals(N, sketch.max().orElseThrow());
+    }
+
+    @Test
+    void memoryStaysBounded() {
+        QuantileSketch sketch = QuantileSketch.of(shuffledRange());
+        assertTrue(sketch.retained() < 4 * QuantileSketch.DEFAULT_K, "retained " + sketch.retained());
+    }
+
+    @Test
+    void largerKResolvesExtremeTail() {
+        QuantileSketch sketch = new QuantileSketch(4_000);
+        shuffledRange().forEach(sketch::accept);
+        assertEquals(0.999 * N, sketch.quantile(0.999).orElseThrow(), 0.0015 * N);
+    }
+
+    @Test
+    void mergedSketchMatchesDistributionOfBothHalves() {
+        QuantileSketch low = QuantileSketch.of(DoubleStream.iterate(0.0, x -> x + 1.0).limit(N / 2));
+        QuantileSketch high = QuantileSketch.of(DoubleStream.iterate(N / 2.0, x -> x + 1.0).limit(N / 2));
+        low.merge(high);
+        assertEquals(N, low.count());
+        assertEquals(0.25 * N, low.quantile(0.25).orElseThrow(), 0.02 * N);
+        assertEquals(0.75 * N, low.quantile(0.75).orElseThrow(), 0.02 * N);
+        assertThrows(IllegalArgumentException.class, () -> low.merge(new QuantileSketch(50)));
+    }
+
+    @Test
+    void collectorSketchesObjectsAndIgnoresNaN() {
+        record Request(double millis) {
+        }
+        QuantileSketch sketch = List.of(new Request(10), new Request(Double.NaN), new Request(30), new Request(20)).stream()
+            .collect(QuantileSketch.toSketch(Request::millis));
+        assertEquals(3, sketch.count());
+        assertEquals(20.0, sketch.quantile(0.5).orElseThrow());
+    }
+
+    @Test
+    void emptySketchHasNoQuantiles() {
+        QuantileSketch sketch = new QuantileSketch();
+        assertTrue(sketch.quantile(0.5).isEmpty());
+        assertThrows(IllegalStateException.class, () -> sketch.quantiles(0.5));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch().quantile(1.5));
+    }
+
+    /** Values {@code 1..N} in a fixed random order. */
+    private static IntStream shuffledRange() {
+        int[] values = IntStream.rangeClosed(1, N).toArray();
+        Random random = new Random(11);
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+        return IntStream.of(values);
+    }
+}
@@ -59,4 +59,12 @@ class StreamPipelineExamplesTest {
         assertTrue(set.contains("ant"));
         assertTrue(set.contains("bear"));
     }
+
+    @Test
+    void parallelSourcesMatchSequentialResults() {
+        List<String> words = List.of(" lion ", "fox", "bear", "cougar", "ant", "zebra");
+        assertEquals(StreamPipelineExamples.mapAndFilter(words), StreamPipelineExamples.mapAndFilter(words.parallelStream()));
+        assertEquals(StreamPipelineExamples.groupingByLength(words), StreamPipelineExamples.groupingByLength(words.parallelStream()));
+        assertEquals(StreamPipelineExamples.reduceConcatenate(words), StreamPipelineExamples.reduceConcatenate(words.parallelStream()));
+    }
 }
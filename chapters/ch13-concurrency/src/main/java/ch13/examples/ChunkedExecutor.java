@@ -0,0 +1,129 @@
+package ch13.examples;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
+
+/**
+ * Batched alternative to submitting one {@link java.util.concurrent.Future} per task. The task
+ * range is split into chunks sized from the pool's parallelism and executed as {@link RecursiveAction}s
+ * on a {@link ForkJoinPool}, so idle workers steal whole chunks instead of competing for single
+ * tasks. Results are written into one preallocated array and the caller waits on a single
+ * completion barrier rather than calling {@code get()} on every future in order.
+ *
+ * @see ExecutorExamples#submitTasks(java.util.concurrent.ExecutorService, int)
+ */
+public final class ChunkedExecutor {
+
+    /** Chunks per worker; a few extra chunks keep workers busy when task costs are uneven. */
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private ChunkedExecutor() {
+    }
+
+    /**
+     * Runs {@code task} for every index in {@code [0, taskCount)} and returns the results in index
+     * order. Indexed tasks avoid allocating a {@link Callable} per element.
+     *
+     * @throws ExecutionException wrapping the first failure raised by any task
+     */
+    public static <T> List<T> invokeAll(ForkJoinPool pool, int taskCount, IntFunction<? extends T> task)
+        throws InterruptedException, ExecutionException {
+        Objects.requireNonNull(pool);
+        Objects.requireNonNull(task);
+        if (taskCount < 0) {
+            throw new IllegalArgumentException("taskCount must not be negative: " + taskCount);
+        }
+        Object[] results = new Object[taskCount];
+        if (taskCount > 0) {
+            int chunkSize = chunkSize(taskCount, pool.getParallelism());
+            pool.submit(new ChunkTask(results, 0, taskCount, chunkSize, task)).get();
+        }
+        return toList(results);
+    }
+
+    /**
+     * Runs each {@link Callable} in {@code tasks} and returns the results in list order.
+     *
+     * @throws ExecutionException wrapping the first checked or unchecked failure of any task
+     */
+    public static <T> List<T> invokeAll(ForkJoinPool pool, List<? extends Callable<? extends T>> tasks)
+        throws InterruptedException, ExecutionException {
+        Objects.requireNonNull(tasks);
+        try {
+            return invokeAll(pool, tasks.size(), index -> {
+                try {
+                    return tasks.get(index).call();
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new TaskFailedException(e);
+                }
+            });
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TaskFailedException failed) {
+                throw new ExecutionException(failed.getCause());
+            }
+            throw e;
+        }
+    }
+
+    /** @return tasks per chunk so that the work splits into about {@code CHUNKS_PER_WORKER} chunks per worker */
+    static int chunkSize(int taskCount, int parallelism) {
+        long chunks = (long) Math.max(1, parallelism) * CHUNKS_PER_WORKER;
+        return (int) Math.max(1, (taskCount + chunks - 1) / chunks);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> toList(Object[] results) {
+        return Collections.unmodifiableList(Arrays.asList((T[]) results));
+    }
+
+    /** Splits its index range in halves until it fits in one chunk, then runs the chunk inline. */
+    private static final class ChunkTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Object[] results;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+        private final transient IntFunction<?> task;
+
+        ChunkTask(Object[] results, int from, int to, int chunkSize, IntFunction<?> task) {
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.task = task;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                for (int i = from; i < to; i++) {
+                    results[i] = task.apply(i);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkTask(results, from, mid, chunkSize, task), new ChunkTask(results, mid, to, chunkSize, task));
+        }
+    }
+
+    /** Carries a checked exception thrown by a {@link Callable} out of a fork-join task. */
+    private static final class TaskFailedException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        TaskFailedException(Exception cause) {
+            super(cause);
+        }
+    }
+}
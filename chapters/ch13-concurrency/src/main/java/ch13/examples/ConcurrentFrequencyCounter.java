@@ -0,0 +1,134 @@
+package ch13.examples;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Concurrent frequency table for word counts and similar tallies, the production-sized form of
+ * {@link SynchronizationExamples#concurrentMapUsage()}. Counting with
+ * {@code map.merge(key, 1, Integer::sum)} on a {@code ConcurrentHashMap<K, Integer>} locks the
+ * key's bin and boxes a new value on every increment, so threads hitting the same hot key queue up
+ * behind each other.
+ *
+ * <p>Here every key maps to a {@link LongAdder} cell that is created once through
+ * {@link ConcurrentHashMap#computeIfAbsent}. An increment first tries a lock-free {@code get} and
+ * only falls back to {@code computeIfAbsent} for keys it has not seen, so once a key exists its
+ * updates take no lock and allocate nothing, and concurrent increments of the same key are striped
+ * over the adder's cells instead of contending for one word.
+ *
+ * <p>Reads ({@link #count}, {@link #snapshot()}, {@link #topK(int)}) are weakly consistent: they
+ * may or may not reflect increments that run concurrently, exactly like {@code LongAdder.sum()}.
+ * Counts only grow; removing a key would race with increments holding its cell, so it is not
+ * offered.
+ *
+ * @param <K> key type
+ */
+public final class ConcurrentFrequencyCounter<K> {
+
+    private final ConcurrentHashMap<K, LongAdder> counts;
+
+    public ConcurrentFrequencyCounter() {
+        counts = new ConcurrentHashMap<>();
+    }
+
+    /** @param expectedKeys number of distinct keys to size the table for */
+    public ConcurrentFrequencyCounter(int expectedKeys) {
+        counts = new ConcurrentHashMap<>(expectedKeys);
+    }
+
+    /** @return counter holding the frequencies of {@code keys}, counted in parallel */
+    public static <K> ConcurrentFrequencyCounter<K> of(Stream<? extends K> keys) {
+        Objects.requireNonNull(keys);
+        ConcurrentFrequencyCounter<K> counter = new ConcurrentFrequencyCounter<>();
+        counter.addAll(keys);
+        return counter;
+    }
+
+    public void increment(K key) {
+        add(key, 1L);
+    }
+
+    /** Adds {@code delta} to the count of {@code key}, creating its cell on first use. */
+    public void add(K key, long delta) {
+        LongAdder cell = counts.get(key);
+        if (cell == null) {
+            cell = counts.computeIfAbsent(key, k -> new LongAdder());
+        }
+        cell.add(delta);
+    }
+
+    /** Counts every element of {@code keys}, processing the stream in parallel on the common pool. */
+    public void addAll(Stream<? extends K> keys) {
+        keys.parallel().forEach(this::increment);
+    }
+
+    /** @return current count of {@code key}, {@code 0} if it was never counted */
+    public long count(Object key) {
+        LongAdder cell = counts.get(key);
+        return cell == null ? 0L : cell.sum();
+    }
+
+    /** @return number of distinct keys counted so far */
+    public int size() {
+        return counts.size();
+    }
+
+    /** @return sum of all counts */
+    public long total() {
+        long total = 0L;
+        for (LongAdder cell : counts.values()) {
+            total += cell.sum();
+        }
+        return total;
+    }
+
+    /** @return copy of every key and its count at the time its cell was read */
+    public Map<K, Long> snapshot() {
+        Map<K, Long> snapshot = new HashMap<>(counts.size() * 4 / 3 + 1);
+        counts.forEach((key, cell) -> snapshot.put(key, cell.sum()));
+        return snapshot;
+    }
+
+    /**
+     * Selects the {@code k} most frequent keys with a bounded min-heap, so the cost is
+     * {@code O(n log k)} and nothing beyond {@code k} entries is copied.
+     *
+     * @return up to {@code k} keys with their counts, most frequent first; ties are in no
+     *     particular order
+     */
+    public List<Map.Entry<K, Long>> topK(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        if (k == 0) {
+            return List.of();
+        }
+        Comparator<Map.Entry<K, Long>> byCount = Map.Entry.comparingByValue();
+        PriorityQueue<Map.Entry<K, Long>> heap = new PriorityQueue<>(Math.min(k, 1 << 16), byCount);
+        counts.forEach((key, cell) -> {
+            long count = cell.sum();
+            if (heap.size() < k) {
+                heap.add(Map.entry(key, count));
+            } else if (count > heap.peek().getValue()) {
+                heap.poll();
+                heap.add(Map.entry(key, count));
+            }
+        });
+        List<Map.Entry<K, Long>> result = new ArrayList<>(heap);
+        result.sort(byCount.reversed());
+        return List.copyOf(result);
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrentFrequencyCounter[keys=" + size() + ", total=" + total() + "]";
+    }
+}
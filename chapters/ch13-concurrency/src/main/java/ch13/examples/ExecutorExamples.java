@@ -6,6 +6,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
@@ -50,6 +51,15 @@ public final class ExecutorExamples {
         return results;
     }
 
+    /**
+     * Computes the same squares as {@link #submitTasks(ExecutorService, int)} through
+     * {@link ChunkedExecutor}, trading one future per task for chunked work-stealing and a single
+     * completion barrier.
+     */
+    public static List<Integer> submitTasksChunked(ForkJoinPool pool, int tasks) throws InterruptedException, ExecutionException {
+        return ChunkedExecutor.invokeAll(pool, tasks, value -> value * value);
+    }
+
     /**
      * Performs the orderly shutdown sequence recommended in the chapter (shutdown → await →
      * shutdownNow as fallback).
@@ -0,0 +1,213 @@
+package ch13.examples;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free multi-producer multi-consumer queue on an array ring buffer, following Dmitry
+ * Vyukov's design. It is the thread-safe counterpart of the {@code ArrayDeque} used by
+ * {@code SetQueueMapExamples.queueBehavior()} for hand-offs between pipeline stages where a
+ * {@link java.util.concurrent.ArrayBlockingQueue} would serialize every producer and consumer on
+ * one lock.
+ *
+ * <p>Every slot carries a sequence number that says whose turn it is. Slot {@code i} starts at
+ * {@code i}. A producer that claimed position {@code p} may write when the sequence equals
+ * {@code p}, and it publishes by setting it to {@code p + 1}. A consumer that claimed {@code p} may
+ * read when the sequence equals {@code p + 1}, and it frees the slot for the next lap by setting
+ * it to {@code p + capacity}. Producers and consumers therefore contend only on their own cursor,
+ * through one CAS each, and never on each other's, and a full or empty queue is detected from the
+ * slot alone. The element is published by the release store of the sequence and read after its
+ * acquire load, so {@code offer} and {@code poll} access the elements with plain reads and writes.
+ *
+ * <p>The two cursors are stored 128 bytes apart in one {@link AtomicLongArray}, the padding
+ * {@link StripedCounter} uses, so producers CASing the tail never invalidate the line consumers CAS
+ * the head on. Slot sequences stay adjacent: consecutive operations walk through consecutive
+ * slots, so padding each of them would multiply the footprint without removing a real conflict.
+ *
+ * <p>{@link #size()} is an estimate while operations are in flight. {@link #iterator()} is weakly
+ * consistent, like those of {@link java.util.concurrent.ConcurrentLinkedQueue} and
+ * {@link java.util.concurrent.ArrayBlockingQueue}: it walks from the head to the tail seen when it
+ * was created, returns each element whose slot is published at the moment it gets there, and never
+ * throws {@link java.util.ConcurrentModificationException}. {@code contains}, {@code toArray} and
+ * the other read-only collection methods are built on it. Elements can only leave from the head,
+ * so {@link Iterator#remove()}, and with it {@code remove(Object)}, {@code removeAll} and
+ * {@code retainAll}, throw {@link UnsupportedOperationException}. {@code null} elements are
+ * rejected.
+ *
+ * @param <E> element type
+ */
+public final class MpmcArrayQueue<E> extends AbstractQueue<E> {
+
+    private static final int TAIL = StripedCounter.CELL_STRIDE;
+    private static final int HEAD = 2 * StripedCounter.CELL_STRIDE;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /** Producer and consumer cursors, padded apart; see {@link #TAIL} and {@link #HEAD}. */
+    private final AtomicLongArray cursors = new AtomicLongArray(3 * StripedCounter.CELL_STRIDE);
+    private final AtomicLongArray sequences;
+    private final AtomicReferenceArray<E> elements;
+    private final int mask;
+
+    /** Creates a queue holding at least {@code capacity} elements, rounded up to a power of two. */
+    public MpmcArrayQueue(int capacity) {
+        if (capacity < 2 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity must be within 2.." + MAX_CAPACITY + ": " + capacity);
+        }
+        int length = Integer.highestOneBit(capacity - 1) << 1;
+        mask = length - 1;
+        sequences = new AtomicLongArray(length);
+        for (int i = 0; i < length; i++) {
+            sequences.set(i, i);
+        }
+        elements = new AtomicReferenceArray<>(length);
+    }
+
+    /** @return {@code false} without waiting when the queue is full */
+    @Override
+    public boolean offer(E e) {
+        Objects.requireNonNull(e);
+        long position = cursors.get(TAIL);
+        while (true) {
+            int index = (int) position & mask;
+            long sequence = sequences.getAcquire(index);
+            if (sequence == position) {
+                if (cursors.compareAndSet(TAIL, position, position + 1)) {
+                    elements.setPlain(index, e);
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = cursors.get(TAIL);
+            } else if (sequence < position) {
+                // The slot still holds the element from the previous lap: full.
+                return false;
+            } else {
+                position = cursors.get(TAIL);
+            }
+        }
+    }
+
+    /** @return head element, or {@code null} without waiting when the queue is empty */
+    @Override
+    public E poll() {
+        long position = cursors.get(HEAD);
+        while (true) {
+            int index = (int) position & mask;
+            long sequence = sequences.getAcquire(index);
+            if (sequence == position + 1) {
+                if (cursors.compareAndSet(HEAD, position, position + 1)) {
+                    E e = elements.getPlain(index);
+                    elements.setPlain(index, null);
+                    sequences.setRelease(index, position + mask + 1);
+                    return e;
+                }
+                position = cursors.get(HEAD);
+            } else if (sequence < position + 1) {
+                // The slot has not been published for this lap yet: empty.
+                return null;
+            } else {
+                position = cursors.get(HEAD);
+            }
+        }
+    }
+
+    /** @return head element without removing it, or {@code null} when the queue is empty */
+    @Override
+    public E peek() {
+        while (true) {
+            long position = cursors.get(HEAD);
+            int index = (int) position & mask;
+            long sequence = sequences.getAcquire(index);
+            if (sequence < position + 1) {
+                return null;
+            }
+            if (sequence == position + 1) {
+                E e = elements.getAcquire(index);
+                // A consumer may have taken the element meanwhile; only trust it if the slot is unchanged.
+                if (e != null && sequences.getAcquire(index) == sequence) {
+                    return e;
+                }
+            }
+        }
+    }
+
+    /** @return number of elements, counting offers and polls that have claimed but not finished a slot */
+    @Override
+    public int size() {
+        long head = cursors.get(HEAD);
+        while (true) {
+            long tail = cursors.get(TAIL);
+            long headAfter = cursors.get(HEAD);
+            if (head == headAfter) {
+                return (int) Math.max(0, Math.min(tail - head, capacity()));
+            }
+            head = headAfter;
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return cursors.get(HEAD) >= cursors.get(TAIL);
+    }
+
+    /** @return maximum number of elements, the requested capacity rounded up to a power of two */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /** @return weakly consistent iterator from head to tail; {@link Iterator#remove()} is unsupported */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    @Override
+    public String toString() {
+        return "MpmcArrayQueue[capacity=" + capacity() + ", size=" + size() + "]";
+    }
+
+    /**
+     * Visits positions from the head to the tail read at creation. A slot is reported only while its
+     * sequence shows it published for that very position, so elements consumed meanwhile, or
+     * slots already reused by a later lap, are skipped rather than returned twice or out of order.
+     */
+    private final class Itr implements Iterator<E> {
+
+        private long position = cursors.get(HEAD);
+        private final long end = cursors.get(TAIL);
+        private E next = advance();
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            E e = next;
+            if (e == null) {
+                throw new NoSuchElementException();
+            }
+            next = advance();
+            return e;
+        }
+
+        private E advance() {
+            while (position < end) {
+                long published = ++position;
+                int index = (int) (published - 1) & mask;
+                if (sequences.getAcquire(index) == published) {
+                    E e = elements.getAcquire(index);
+                    // Same check as peek(): the element is only ours if the slot did not move on.
+                    if (e != null && sequences.getAcquire(index) == published) {
+                        return e;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package ch13.examples;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Contention-friendly counter in the spirit of {@link java.util.concurrent.atomic.LongAdder}. Instead
+ * of every thread competing for one monitor ({@link SynchronizationExamples.Counter}) or one atomic
+ * word ({@link SynchronizationExamples#atomicCounter(int)}), increments are spread over a fixed set of
+ * cells. Each thread carries a probe that selects its cell; when a CAS on that cell fails the probe
+ * is rehashed so the thread moves away from the contended cell.
+ *
+ * <p>Cells are stored {@value #CELL_STRIDE} longs apart in a single {@link AtomicLongArray}, leaving
+ * at least one full cache line (and the adjacent-line prefetch pair) between any two cells so that
+ * neighbouring cells never share a line. Reads sum every cell and are therefore not an atomic
+ * snapshot while increments are in flight, exactly like {@code LongAdder.sum()}.
+ */
+public final class StripedCounter {
+
+    /** 16 longs = 128 bytes: covers 64-byte lines plus adjacent-line prefetching. */
+    static final int CELL_STRIDE = 16;
+
+    private static final AtomicInteger PROBE_SEED = new AtomicInteger();
+    private static final ThreadLocal<int[]> PROBE = ThreadLocal.withInitial(() -> new int[] {initialProbe()});
+
+    private final AtomicLongArray cells;
+    private final int mask;
+
+    /** Creates a counter with one cell per available processor, rounded up to a power of two. */
+    public StripedCounter() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /** Creates a counter with at least {@code stripes} cells, rounded up to a power of two. */
+    public StripedCounter(int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("stripes must be positive: " + stripes);
+        }
+        int cellCount = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        mask = cellCount - 1;
+        // One extra stride before the first cell keeps it off the array header's line.
+        cells = new AtomicLongArray((cellCount + 1) * CELL_STRIDE);
+    }
+
+    public void increment() {
+        add(1L);
+    }
+
+    /** Adds {@code delta} to the cell selected by the calling thread's probe. */
+    public void add(long delta) {
+        int[] probe = PROBE.get();
+        int h = probe[0];
+        while (true) {
+            int index = ((h & mask) + 1) * CELL_STRIDE;
+            long current = cells.get(index);
+            if (cells.compareAndSet(index, current, current + delta)) {
+                return;
+            }
+            h = advanceProbe(h);
+            probe[0] = h;
+        }
+    }
+
+    /** @return sum of all cells; concurrent updates may or may not be reflected */
+    public long getCount() {
+        long sum = 0L;
+        for (int cell = 0; cell <= mask; cell++) {
+            sum += cells.get((cell + 1) * CELL_STRIDE);
+        }
+        return sum;
+    }
+
+    /** @return number of cells the counter stripes increments over */
+    public int stripes() {
+        return mask + 1;
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(getCount());
+    }
+
+    private static int initialProbe() {
+        int h = PROBE_SEED.addAndGet(0x9E3779B9);
+        return h == 0 ? 1 : h;
+    }
+
+    /** Marsaglia xorshift step, the same rehash {@code LongAdder} applies after a failed CAS. */
+    private static int advanceProbe(int h) {
+        h ^= h << 13;
+        h ^= h >>> 17;
+        h ^= h << 5;
+        return h;
+    }
+}
@@ -3,9 +3,11 @@ package ch13.examples;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 /**
  * Demonstrates synchronization constructs from Chapter 13 "Managing Concurrency" including
@@ -71,4 +73,43 @@ public final class SynchronizationExamples {
         map.computeIfAbsent("tiger", k -> 2);
         return map;
     }
+
+    /**
+     * Counts {@code words} in parallel with {@link ConcurrentFrequencyCounter}, whose
+     * {@code LongAdder} values avoid the bin locking and reboxing of updating the {@code Integer}
+     * values of {@link #concurrentMapUsage()} under contention.
+     *
+     * @return the {@code k} most frequent words with their counts, most frequent first
+     */
+    public static List<Map.Entry<String, Long>> topWords(Stream<String> words, int k) {
+        return ConcurrentFrequencyCounter.of(words).topK(k);
+    }
+
+    /**
+     * Hands {@code 1..count} from a producer thread to a consumer thread through a small
+     * {@link MpmcArrayQueue}, yielding while the queue is full or empty instead of blocking.
+     *
+     * @return sum of the values the consumer received
+     */
+    public static long queueHandOff(int count) throws InterruptedException {
+        MpmcArrayQueue<Integer> queue = new MpmcArrayQueue<>(64);
+        long[] received = new long[1];
+        Thread consumer = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                Integer value;
+                while ((value = queue.poll()) == null) {
+                    Thread.yield();
+                }
+                received[0] += value;
+            }
+        });
+        consumer.start();
+        for (int i = 1; i <= count; i++) {
+            while (!queue.offer(i)) {
+                Thread.yield();
+            }
+        }
+        consumer.join();
+        return received[0];
+    }
 }
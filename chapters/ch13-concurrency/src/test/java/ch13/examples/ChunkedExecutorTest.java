@@ -0,0 +1,56 @@
+package ch13.examples;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class ChunkedExecutorTest {
+
+    @Test
+    void chunkedSquaresMatchFuturePerTaskResults() throws InterruptedException, ExecutionException {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<Integer> results = ExecutorExamples.submitTasksChunked(pool, 10_000);
+            assertEquals(10_000, results.size());
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(i * i, results.get(i));
+            }
+            assertTrue(ExecutorExamples.submitTasksChunked(pool, 0).isEmpty());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void callablesKeepListOrder() throws InterruptedException, ExecutionException {
+        List<Callable<String>> tasks = IntStream.range(0, 100).<Callable<String>>mapToObj(i -> () -> "task" + i).toList();
+        List<String> results = ChunkedExecutor.invokeAll(ForkJoinPool.commonPool(), tasks);
+        assertEquals("task0", results.get(0));
+        assertEquals("task99", results.get(99));
+    }
+
+    @Test
+    void checkedFailureSurfacesAsExecutionException() {
+        List<Callable<String>> tasks = List.of(() -> "ok", () -> {
+            throw new IOException("boom");
+        });
+        ExecutionException e = assertThrows(ExecutionException.class, () -> ChunkedExecutor.invokeAll(ForkJoinPool.commonPool(), tasks));
+        assertInstanceOf(IOException.class, e.getCause());
+    }
+
+    @Test
+    void chunkSizeSpreadsWorkAcrossWorkers() {
+        assertEquals(1, ChunkedExecutor.chunkSize(3, 8));
+        assertEquals(32, ChunkedExecutor.chunkSize(1024, 8));
+    }
+}
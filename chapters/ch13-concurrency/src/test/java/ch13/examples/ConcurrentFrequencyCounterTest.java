@@ -0,0 +1,59 @@
+package ch13.examples;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+class ConcurrentFrequencyCounterTest {
+
+    @Test
+    void concurrentIncrementsOfHotKeysAreNotLost() throws InterruptedException {
+        ConcurrentFrequencyCounter<String> counter = new ConcurrentFrequencyCounter<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    counter.increment(i % 10 == 0 ? "cold-" + i : "hot");
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(72_000L, counter.count("hot"));
+        assertEquals(8L, counter.count("cold-0"));
+        assertEquals(80_000L, counter.total());
+        assertEquals(1 + 1_000, counter.size());
+    }
+
+    @Test
+    void addAllCountsParallelStreams() {
+        ConcurrentFrequencyCounter<Integer> counter = ConcurrentFrequencyCounter.of(IntStream.range(0, 1_000_000).map(i -> i % 7).boxed());
+        Map<Integer, Long> snapshot = counter.snapshot();
+        assertEquals(7, snapshot.size());
+        assertEquals(142_858L, snapshot.get(0));
+        assertEquals(142_857L, snapshot.get(6));
+        assertEquals(0L, counter.count(7));
+    }
+
+    @Test
+    void topKReturnsMostFrequentFirst() {
+        ConcurrentFrequencyCounter<String> counter = ConcurrentFrequencyCounter.of(
+            Stream.of("the", "cat", "the", "hat", "the", "cat", "sat"));
+        counter.add("mat", 2);
+        List<Map.Entry<String, Long>> top = counter.topK(2);
+        assertEquals(Map.entry("the", 3L), top.get(0));
+        assertEquals(2L, top.get(1).getValue());
+        assertEquals(5, counter.topK(10).size());
+        assertEquals(List.of(), counter.topK(0));
+        assertThrows(IllegalArgumentException.class, () -> counter.topK(-1));
+    }
+}
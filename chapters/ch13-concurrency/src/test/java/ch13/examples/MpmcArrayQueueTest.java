@@ -0,0 +1,122 @@
+package ch13.examples;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class MpmcArrayQueueTest {
+
+    @Test
+    void singleThreadedQueueIsFifoAndBounded() {
+        MpmcArrayQueue<String> queue = new MpmcArrayQueue<>(3);
+        assertEquals(4, queue.capacity());
+        assertNull(queue.poll());
+        assertNull(queue.peek());
+        for (String s : List.of("a", "b", "c", "d")) {
+            assertTrue(queue.offer(s));
+        }
+        assertFalse(queue.offer("e"));
+        assertEquals(4, queue.size());
+        assertEquals("a", queue.peek());
+        assertEquals("a", queue.poll());
+        assertTrue(queue.offer("e"));
+        assertEquals(List.of("b", "c", "d", "e"), List.of(queue.poll(), queue.poll(), queue.poll(), queue.poll()));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    @Timeout(10)
+    void multipleProducersAndConsumersDeliverEachElementOnce() throws Exception {
+        int producers = 4;
+        int perProducer = 5_000;
+        MpmcArrayQueue<Integer> queue = new MpmcArrayQueue<>(128);
+        AtomicInteger remaining = new AtomicInteger(producers * perProducer);
+        ExecutorService executor = Executors.newFixedThreadPool(2 * producers);
+        try {
+            List<Future<List<Integer>>> consumers = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                executor.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!queue.offer(base + i)) {
+                            Thread.yield();
+                        }
+                    }
+                });
+                consumers.add(executor.submit(() -> {
+                    List<Integer> received = new ArrayList<>();
+                    while (remaining.get() > 0) {
+                        Integer value = queue.poll();
+                        if (value == null) {
+                            Thread.yield();
+                        } else {
+                            received.add(value);
+                            remaining.decrementAndGet();
+                        }
+                    }
+                    return received;
+                }));
+            }
+            BitSet seen = new BitSet(producers * perProducer);
+            for (Future<List<Integer>> consumer : consumers) {
+                for (int value : consumer.get()) {
+                    assertFalse(seen.get(value), "duplicate " + value);
+                    seen.set(value);
+                }
+            }
+            assertEquals(producers * perProducer, seen.cardinality());
+            assertTrue(queue.isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void iteratorWalksFromHeadToTail() {
+        MpmcArrayQueue<String> queue = new MpmcArrayQueue<>(4);
+        queue.addAll(List.of("a", "b", "c"));
+        queue.poll();
+        queue.addAll(List.of("d", "e"));
+        assertEquals(List.of("b", "c", "d", "e"), new ArrayList<>(queue));
+        assertTrue(queue.contains("d"));
+        assertFalse(queue.contains("a"));
+        assertArrayEquals(new Object[] {"b", "c", "d", "e"}, queue.toArray());
+        Iterator<String> iterator = queue.iterator();
+        queue.poll();
+        queue.poll();
+        queue.poll();
+        // As with ConcurrentLinkedQueue, the element already fetched is still returned, while slots
+        // consumed after the iterator was created are skipped.
+        assertEquals("b", iterator.next());
+        assertEquals("e", iterator.next());
+        assertFalse(iterator.hasNext());
+        assertThrows(UnsupportedOperationException.class, () -> queue.remove("e"));
+    }
+
+    @Test
+    void unsupportedOperationsAreRejected() {
+        MpmcArrayQueue<String> queue = new MpmcArrayQueue<>(2);
+        assertThrows(NullPointerException.class, () -> queue.offer(null));
+        assertThrows(IllegalArgumentException.class, () -> new MpmcArrayQueue<>(1));
+        assertThrows(IllegalStateException.class, () -> {
+            queue.add("a");
+            queue.add("b");
+            queue.add("c");
+        });
+    }
+}
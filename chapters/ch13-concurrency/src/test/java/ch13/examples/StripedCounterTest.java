@@ -0,0 +1,46 @@
+package ch13.examples;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class StripedCounterTest {
+
+    @Test
+    void concurrentIncrementsAreNotLost() throws InterruptedException {
+        StripedCounter counter = new StripedCounter(4);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    counter.increment();
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(80_000L, counter.getCount());
+    }
+
+    @Test
+    void stripesRoundUpToPowerOfTwo() {
+        assertEquals(1, new StripedCounter(1).stripes());
+        assertEquals(4, new StripedCounter(3).stripes());
+        assertEquals(8, new StripedCounter(8).stripes());
+        assertThrows(IllegalArgumentException.class, () -> new StripedCounter(0));
+    }
+
+    @Test
+    void addAcceptsNegativeDeltas() {
+        StripedCounter counter = new StripedCounter();
+        counter.add(5);
+        counter.add(-2);
+        assertEquals(3L, counter.getCount());
+    }
+}
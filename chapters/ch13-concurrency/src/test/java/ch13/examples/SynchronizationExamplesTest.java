@@ -31,6 +31,17 @@ class SynchronizationExamplesTest {
         assertEquals(2, map.get("tiger"));
     }
 
+    @Test
+    void topWordsCountsInParallel() {
+        var top = SynchronizationExamples.topWords(java.util.stream.Stream.of("b", "a", "b", "c", "b", "a"), 2);
+        assertEquals(java.util.List.of(java.util.Map.entry("b", 3L), java.util.Map.entry("a", 2L)), top);
+    }
+
+    @Test
+    void queueHandOffDeliversEveryValue() throws InterruptedException {
+        assertEquals(1_000L * 1_001L / 2, SynchronizationExamples.queueHandOff(1_000));
+    }
+
     @Test
     void synchronizedListWrapsList() {
         assertEquals(java.util.List.of(1, 2), SynchronizationExamples.synchronizedListExample());
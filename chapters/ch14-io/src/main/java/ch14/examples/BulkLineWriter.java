@@ -0,0 +1,247 @@
+package ch14.examples;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * High-throughput replacement for {@link StreamIOExamples#writeLines(Path, java.util.List)} when
+ * millions of lines are written. Characters are copied into a reusable {@link CharBuffer}, encoded
+ * by a single reused {@link CharsetEncoder} straight into direct {@link ByteBuffer}s, and the
+ * buffers are handed to the {@link FileChannel} together in one gathering write once they are all
+ * full. No per-line {@code String} or byte array is allocated.
+ *
+ * <p>In asynchronous mode the writer owns two sets of buffers and a background thread: while one
+ * set is being written to disk the caller keeps encoding into the other, so encoding and I/O
+ * overlap. A write failure on the background thread is rethrown by the next call that needs the
+ * buffers back, or by {@link #close()}.
+ *
+ * <p>Lines end with {@link System#lineSeparator()} like {@link java.io.BufferedWriter#newLine()},
+ * and characters the charset cannot encode raise a
+ * {@link java.nio.charset.CharacterCodingException} as with {@code Files.newBufferedWriter}. The
+ * target is created or truncated. A writer must be used by one thread at a time.
+ */
+public final class BulkLineWriter implements Closeable {
+
+    /** Default total size of one buffer set. */
+    static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+
+    private static final int BUFFERS_PER_SET = 4;
+    private static final int MIN_BUFFER_SIZE = BUFFERS_PER_SET * 16;
+    private static final int CHAR_BUFFER_SIZE = 8 * 1024;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final FileChannel channel;
+    private final CharsetEncoder encoder;
+    private final CharBuffer chars = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+    private final ExecutorService writerThread;
+    private ByteBuffer[] current;
+    private ByteBuffer[] spare;
+    private int index;
+    private Future<?> pendingWrite;
+    private boolean closed;
+
+    private BulkLineWriter(FileChannel channel, Charset charset, int bufferSize, boolean async) {
+        this.channel = channel;
+        this.encoder = charset.newEncoder();
+        this.current = allocateSet(bufferSize);
+        this.spare = async ? allocateSet(bufferSize) : null;
+        this.writerThread = async ? Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bulk-line-writer");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    /** @return synchronous UTF-8 writer with {@link #DEFAULT_BUFFER_SIZE} bytes of buffering */
+    public static BulkLineWriter open(Path path) throws IOException {
+        return open(path, StandardCharsets.UTF_8, DEFAULT_BUFFER_SIZE, false);
+    }
+
+    /**
+     * @return writer encoding with {@code charset} into {@code bufferSize} bytes of direct buffers;
+     *     with {@code async} a second buffer set is written by a background thread
+     */
+    public static BulkLineWriter open(Path path, Charset charset, int bufferSize, boolean async) throws IOException {
+        Objects.requireNonNull(charset);
+        if (bufferSize < MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("bufferSize must be at least " + MIN_BUFFER_SIZE + ": " + bufferSize);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            return new BulkLineWriter(channel, charset, bufferSize, async);
+        } catch (RuntimeException | Error e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** Appends {@code line} followed by the line separator. */
+    public void writeLine(CharSequence line) throws IOException {
+        if (closed) {
+            throw new IOException("Writer is closed");
+        }
+        append(line);
+        append(LINE_SEPARATOR);
+    }
+
+    /** Encodes everything written so far and waits until it has reached the channel. */
+    public void flush() throws IOException {
+        if (closed) {
+            throw new IOException("Writer is closed");
+        }
+        encodeChars(false);
+        writeSet();
+        awaitPendingWrite();
+    }
+
+    /** Flushes remaining output, stops the background thread, and closes the file. */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            encodeChars(true);
+            CoderResult result;
+            while ((result = encoder.flush(currentBuffer())).isOverflow()) {
+                nextBuffer();
+            }
+            check(result);
+            writeSet();
+            awaitPendingWrite();
+        } finally {
+            if (writerThread != null) {
+                writerThread.shutdownNow();
+            }
+            channel.close();
+        }
+    }
+
+    private void append(CharSequence text) throws IOException {
+        int length = text.length();
+        int offset = 0;
+        while (offset < length) {
+            int count = Math.min(chars.remaining(), length - offset);
+            if (text instanceof String string) {
+                string.getChars(offset, offset + count, chars.array(), chars.arrayOffset() + chars.position());
+                chars.position(chars.position() + count);
+            } else {
+                for (int i = offset; i < offset + count; i++) {
+                    chars.put(text.charAt(i));
+                }
+            }
+            offset += count;
+            if (!chars.hasRemaining()) {
+                encodeChars(false);
+            }
+        }
+    }
+
+    /** Encodes the pending characters; an unpaired high surrogate at the end is kept for the next call. */
+    private void encodeChars(boolean endOfInput) throws IOException {
+        chars.flip();
+        CoderResult result;
+        while ((result = encoder.encode(chars, currentBuffer(), endOfInput)).isOverflow()) {
+            nextBuffer();
+        }
+        check(result);
+        chars.compact();
+    }
+
+    private static void check(CoderResult result) throws IOException {
+        if (result.isError()) {
+            result.throwException();
+        }
+    }
+
+    private ByteBuffer currentBuffer() {
+        return current[index];
+    }
+
+    private void nextBuffer() throws IOException {
+        if (++index == current.length) {
+            writeSet();
+        }
+    }
+
+    /** Hands the filled buffers of the current set to the channel, synchronously or in the background. */
+    private void writeSet() throws IOException {
+        int count = Math.min(index + 1, current.length);
+        if (current[0].position() == 0) {
+            index = 0;
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            current[i].flip();
+        }
+        ByteBuffer[] toWrite = current;
+        index = 0;
+        if (writerThread == null) {
+            writeFully(toWrite, count);
+            return;
+        }
+        awaitPendingWrite();
+        current = spare;
+        spare = toWrite;
+        pendingWrite = writerThread.submit(() -> {
+            writeFully(toWrite, count);
+            return null;
+        });
+    }
+
+    private void writeFully(ByteBuffer[] buffers, int count) throws IOException {
+        long remaining = 0L;
+        for (int i = 0; i < count; i++) {
+            remaining += buffers[i].remaining();
+        }
+        while (remaining > 0) {
+            remaining -= channel.write(buffers, 0, count);
+        }
+        for (int i = 0; i < count; i++) {
+            buffers[i].clear();
+        }
+    }
+
+    private void awaitPendingWrite() throws IOException {
+        if (pendingWrite == null) {
+            return;
+        }
+        try {
+            pendingWrite.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a background write");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Background write failed", e.getCause());
+        } finally {
+            pendingWrite = null;
+        }
+    }
+
+    private static ByteBuffer[] allocateSet(int bufferSize) {
+        ByteBuffer[] set = new ByteBuffer[BUFFERS_PER_SET];
+        for (int i = 0; i < set.length; i++) {
+            set[i] = ByteBuffer.allocateDirect(bufferSize / BUFFERS_PER_SET);
+        }
+        return set;
+    }
+}
@@ -1,14 +1,17 @@
 package ch14.examples;
 
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.DirectoryStream;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.LongConsumer;
 
 /**
  * Demonstrates the {@code java.nio.file} operations discussed in Chapter 14 "Working with Files" as
@@ -38,7 +41,8 @@ public final class FileSystemExamples {
 
     /**
      * @return file names in the directory via {@link DirectoryStream}, matching the directory-iteration
-     *     example.
+     *     example. Each call lists the directory again; {@link LiveDirectoryView} keeps a watched
+     *     listing for directories that are polled repeatedly.
      */
     public static List<String> listDirectory(Path dir) throws IOException {
         List<String> entries = new ArrayList<>();
@@ -55,6 +59,18 @@ public final class FileSystemExamples {
         Files.copy(source, target);
     }
 
+    /**
+     * Copies a file through {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)},
+     * reporting the running byte count to {@code progress}. Like {@link #copyFile(Path, Path)} the
+     * copy fails if the target already exists.
+     */
+    public static void copyFile(Path source, Path target, LongConsumer progress) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW)) {
+            StreamIOExamples.transfer(in, out, progress);
+        }
+    }
+
     /** Moves or renames a file using {@link Files#move(Path, Path, java.nio.file.CopyOption...)}. */
     public static void moveFile(Path source, Path target) throws IOException {
         Files.move(source, target);
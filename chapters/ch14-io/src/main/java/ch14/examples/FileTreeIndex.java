@@ -0,0 +1,334 @@
+package ch14.examples;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Persistent index of the files {@link Nio2AttributesExamples#walkWithFilter(Path)} would visit,
+ * recording each file's size and last-modified {@link FileTime}, so a tree that is scanned
+ * repeatedly only has to be re-read where it changed.
+ *
+ * <p>{@link #refresh()} compares every directory's own modification time with the indexed value.
+ * An unchanged directory is not listed again and its files are not inspected; only its known
+ * subdirectories are visited. A changed directory is listed and diffed, and the result is reported
+ * as {@link Changes}. A directory's mtime moves when entries are created, deleted, or renamed in
+ * it, but <em>not</em> when an existing file is rewritten in place, so such edits show up only after
+ * something else touches the directory; build a fresh index when that matters. A directory whose
+ * mtime falls within {@link #RACY_WINDOW} of the previous scan is always re-listed, because a
+ * change made in the same timestamp tick as the scan would otherwise leave the mtime unchanged.
+ *
+ * <p>{@link #save(Path)} writes the index as a tree through {@link DataOutputStream}: each file
+ * costs its modified-UTF-8 name plus 22 bytes, and paths are never repeated. The file is replaced
+ * atomically. Instances are not thread-safe.
+ */
+public final class FileTreeIndex {
+
+    /** Window before the previous scan within which a directory mtime is not trusted. */
+    static final Duration RACY_WINDOW = Duration.ofSeconds(2);
+
+    private static final int MAGIC = 0x46544958;
+    private static final int VERSION = 1;
+
+    /** Indexed state of one file. */
+    public record FileEntry(long size, FileTime lastModified) {
+    }
+
+    /**
+     * Outcome of one {@link #refresh()}.
+     *
+     * @param added files not present in the previous index
+     * @param changed files whose size or modification time differs
+     * @param removed indexed files that no longer exist
+     * @param listedDirectories directories that had to be listed; the rest were reused
+     */
+    public record Changes(List<Path> added, List<Path> changed, List<Path> removed, int listedDirectories) {
+
+        public Changes {
+            added = List.copyOf(added);
+            changed = List.copyOf(changed);
+            removed = List.copyOf(removed);
+        }
+
+        /** @return whether no file was added, changed, or removed */
+        public boolean isEmpty() {
+            return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+        }
+    }
+
+    /** Indexed directory; never modified after construction, so unchanged subtrees are shared. */
+    private record Directory(FileTime lastModified, Map<String, FileEntry> files, Map<String, Directory> children) {
+    }
+
+    private final Path root;
+    private Directory tree;
+    private FileTime scannedAt;
+
+    private FileTreeIndex(Path root, Directory tree, FileTime scannedAt) {
+        this.root = root;
+        this.tree = tree;
+        this.scannedAt = scannedAt;
+    }
+
+    /** @return index of a full scan of {@code root} */
+    public static FileTreeIndex build(Path root) throws IOException {
+        FileTreeIndex index = new FileTreeIndex(root.toAbsolutePath().normalize(), null, null);
+        index.refresh();
+        return index;
+    }
+
+    /**
+     * @return index previously written by {@link #save(Path)}
+     * @throws StreamCorruptedException if the file is not an index in a supported format
+     */
+    public static FileTreeIndex load(Path indexFile) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != MAGIC) {
+                throw new StreamCorruptedException(indexFile + " is not a file tree index");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new StreamCorruptedException("Unsupported index version " + version);
+            }
+            Path root = Path.of(in.readUTF());
+            FileTime scannedAt = readTime(in);
+            return new FileTreeIndex(root, readDirectory(in), scannedAt);
+        }
+    }
+
+    /** @return absolute root of the indexed tree */
+    public Path root() {
+        return root;
+    }
+
+    /** @return number of indexed files */
+    public int fileCount() {
+        return count(tree);
+    }
+
+    /** @return indexed state of {@code file}, empty if it is not in the index */
+    public Optional<FileEntry> lookup(Path file) {
+        Path relative = root.relativize(file.toAbsolutePath().normalize());
+        if (relative.startsWith("..") || relative.getNameCount() == 0) {
+            return Optional.empty();
+        }
+        Directory dir = tree;
+        for (int i = 0; i < relative.getNameCount() - 1 && dir != null; i++) {
+            dir = dir.children().get(relative.getName(i).toString());
+        }
+        return dir == null ? Optional.empty() : Optional.ofNullable(dir.files().get(relative.getFileName().toString()));
+    }
+
+    /**
+     * Re-scans the tree, listing only directories whose mtime changed, and updates the index.
+     *
+     * @return files added, changed, and removed since the previous scan
+     * @throws NotDirectoryException if the root is no longer a directory
+     */
+    public Changes refresh() throws IOException {
+        FileTime started = FileTime.from(Instant.now());
+        Scan scan = new Scan(scannedAt == null ? null : scannedAt.toInstant().minus(RACY_WINDOW));
+        if (Nio2AttributesExamples.isHiddenDirectory(root)) {
+            tree = new Directory(started, Map.of(), Map.of());
+        } else {
+            tree = scanDirectory(root, tree, scan);
+        }
+        scannedAt = started;
+        return new Changes(scan.added, scan.changed, scan.removed, scan.listedDirectories);
+    }
+
+    /** Writes the index to {@code indexFile} through a temporary sibling and an atomic rename. */
+    public void save(Path indexFile) throws IOException {
+        Path target = indexFile.toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(root.toString());
+                writeTime(out, scannedAt);
+                writeDirectory(out, tree);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    private static Directory scanDirectory(Path dir, Directory previous, Scan scan) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(dir, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        if (!attributes.isDirectory()) {
+            throw new NotDirectoryException(dir.toString());
+        }
+        FileTime modified = attributes.lastModifiedTime();
+        if (previous != null && modified.equals(previous.lastModified()) && scan.trusts(modified)) {
+            Map<String, Directory> children = new HashMap<>(previous.children().size() * 2);
+            for (Map.Entry<String, Directory> child : previous.children().entrySet()) {
+                Path childPath = dir.resolve(child.getKey());
+                try {
+                    children.put(child.getKey(), scanDirectory(childPath, child.getValue(), scan));
+                } catch (NoSuchFileException | NotDirectoryException e) {
+                    scan.removeSubtree(childPath, child.getValue());
+                }
+            }
+            return new Directory(modified, previous.files(), children);
+        }
+        scan.listedDirectories++;
+        Map<String, FileEntry> files = new HashMap<>();
+        Map<String, Directory> children = new HashMap<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+            for (Path entry : entries) {
+                BasicFileAttributes entryAttributes;
+                try {
+                    entryAttributes = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                } catch (NoSuchFileException e) {
+                    continue;
+                }
+                String name = entry.getFileName().toString();
+                if (!entryAttributes.isDirectory()) {
+                    FileEntry current = new FileEntry(entryAttributes.size(), entryAttributes.lastModifiedTime());
+                    files.put(name, current);
+                    FileEntry before = previous == null ? null : previous.files().get(name);
+                    if (before == null) {
+                        scan.added.add(entry);
+                    } else if (!before.equals(current)) {
+                        scan.changed.add(entry);
+                    }
+                } else if (!Nio2AttributesExamples.isHiddenDirectory(entry)) {
+                    try {
+                        children.put(name, scanDirectory(entry, previous == null ? null : previous.children().get(name), scan));
+                    } catch (NoSuchFileException | NotDirectoryException e) {
+                        // Replaced or deleted since listing; reported as removed below if it was indexed.
+                    }
+                }
+            }
+        } catch (DirectoryIteratorException e) {
+            throw e.getCause();
+        }
+        if (previous != null) {
+            for (String name : previous.files().keySet()) {
+                if (!files.containsKey(name)) {
+                    scan.removed.add(dir.resolve(name));
+                }
+            }
+            for (Map.Entry<String, Directory> child : previous.children().entrySet()) {
+                if (!children.containsKey(child.getKey())) {
+                    scan.removeSubtree(dir.resolve(child.getKey()), child.getValue());
+                }
+            }
+        }
+        return new Directory(modified, files, children);
+    }
+
+    private static int count(Directory dir) {
+        int total = dir.files().size();
+        for (Directory child : dir.children().values()) {
+            total += count(child);
+        }
+        return total;
+    }
+
+    private static void writeDirectory(DataOutputStream out, Directory dir) throws IOException {
+        writeTime(out, dir.lastModified());
+        out.writeInt(dir.files().size());
+        for (Map.Entry<String, FileEntry> file : dir.files().entrySet()) {
+            out.writeUTF(file.getKey());
+            out.writeLong(file.getValue().size());
+            writeTime(out, file.getValue().lastModified());
+        }
+        out.writeInt(dir.children().size());
+        for (Map.Entry<String, Directory> child : dir.children().entrySet()) {
+            out.writeUTF(child.getKey());
+            writeDirectory(out, child.getValue());
+        }
+    }
+
+    private static Directory readDirectory(DataInputStream in) throws IOException {
+        FileTime modified = readTime(in);
+        int fileCount = readCount(in);
+        Map<String, FileEntry> files = new HashMap<>(fileCount * 2);
+        for (int i = 0; i < fileCount; i++) {
+            String name = in.readUTF();
+            files.put(name, new FileEntry(in.readLong(), readTime(in)));
+        }
+        int childCount = readCount(in);
+        Map<String, Directory> children = new HashMap<>(childCount * 2);
+        for (int i = 0; i < childCount; i++) {
+            String name = in.readUTF();
+            children.put(name, readDirectory(in));
+        }
+        return new Directory(modified, files, children);
+    }
+
+    private static int readCount(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            throw new StreamCorruptedException("Negative entry count " + count);
+        }
+        return count;
+    }
+
+    /** Seconds and nanoseconds, so sub-second timestamps survive a round trip exactly. */
+    private static void writeTime(DataOutputStream out, FileTime time) throws IOException {
+        Instant instant = time.toInstant();
+        out.writeLong(instant.getEpochSecond());
+        out.writeInt(instant.getNano());
+    }
+
+    private static FileTime readTime(DataInputStream in) throws IOException {
+        long seconds = in.readLong();
+        int nanos = in.readInt();
+        if (nanos < 0 || nanos > 999_999_999) {
+            throw new StreamCorruptedException("Invalid nanosecond field " + nanos);
+        }
+        return FileTime.from(Instant.ofEpochSecond(seconds, nanos));
+    }
+
+    /** Differences collected during one {@link #refresh()}. */
+    private static final class Scan {
+
+        private final Instant trustedBefore;
+        private final List<Path> added = new ArrayList<>();
+        private final List<Path> changed = new ArrayList<>();
+        private final List<Path> removed = new ArrayList<>();
+        private int listedDirectories;
+
+        Scan(Instant trustedBefore) {
+            this.trustedBefore = trustedBefore;
+        }
+
+        boolean trusts(FileTime modified) {
+            return trustedBefore != null && modified.toInstant().isBefore(trustedBefore);
+        }
+
+        void removeSubtree(Path dir, Directory indexed) {
+            for (String name : indexed.files().keySet()) {
+                removed.add(dir.resolve(name));
+            }
+            for (Map.Entry<String, Directory> child : indexed.children().entrySet()) {
+                removeSubtree(dir.resolve(child.getKey()), child.getValue());
+            }
+        }
+    }
+}
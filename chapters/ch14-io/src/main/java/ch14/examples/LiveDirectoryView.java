@@ -0,0 +1,155 @@
+package ch14.examples;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Cached listing of one directory, kept current by a {@link WatchService} instead of re-reading
+ * the directory on every call as {@link FileSystemExamples#listDirectory(Path)} does. The directory
+ * is listed once when the view is opened; afterwards a daemon thread applies create and delete
+ * events and publishes a new immutable set of names, so {@link #snapshot()} is a single volatile
+ * read. Events that arrive together are applied as one update.
+ *
+ * <p>When the watch service reports {@link StandardWatchEventKinds#OVERFLOW} (events were dropped
+ * because the directory changed faster than they could be delivered) the directory is listed again
+ * from scratch. If the directory itself is deleted or becomes inaccessible the view stops, its
+ * snapshot becomes empty, and {@link #isValid()} returns {@code false}.
+ *
+ * <p>Snapshots are eventually consistent: a name appears or disappears once its event has been
+ * processed, typically within milliseconds on file systems with native notification. Close the
+ * view to release the watch service and stop its thread.
+ */
+public final class LiveDirectoryView implements Closeable {
+
+    private final Path dir;
+    private final WatchService watcher;
+    private final Thread worker;
+    private volatile Set<String> snapshot;
+    private volatile boolean valid = true;
+    private volatile long rescans;
+
+    private LiveDirectoryView(Path dir, WatchService watcher, Set<String> initial) {
+        this.dir = dir;
+        this.watcher = watcher;
+        this.snapshot = initial;
+        this.worker = new Thread(this::run, "live-directory-view");
+        worker.setDaemon(true);
+    }
+
+    /**
+     * @return view of {@code dir}, listed once and then updated from watch events
+     * @throws java.nio.file.NotDirectoryException if {@code dir} is not a directory
+     */
+    public static LiveDirectoryView open(Path dir) throws IOException {
+        Objects.requireNonNull(dir);
+        WatchService watcher = dir.getFileSystem().newWatchService();
+        try {
+            // Register before listing so that nothing created in between is missed.
+            dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE);
+            LiveDirectoryView view = new LiveDirectoryView(dir, watcher, Set.copyOf(list(dir)));
+            view.worker.start();
+            return view;
+        } catch (IOException | RuntimeException e) {
+            watcher.close();
+            throw e;
+        }
+    }
+
+    /** @return watched directory */
+    public Path directory() {
+        return dir;
+    }
+
+    /** @return immutable set of the entry names currently known to be in the directory */
+    public Set<String> snapshot() {
+        return snapshot;
+    }
+
+    /** @return whether the directory is still being watched */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /** @return number of full re-listings caused by event overflow */
+    public long rescans() {
+        return rescans;
+    }
+
+    /** Stops watching and waits for the update thread to finish. */
+    @Override
+    public void close() throws IOException {
+        watcher.close();
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            boolean rescanPending = false;
+            while (true) {
+                WatchKey key = watcher.take();
+                Set<String> names = new HashSet<>(snapshot);
+                do {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        WatchEvent.Kind<?> kind = event.kind();
+                        if (kind == StandardWatchEventKinds.OVERFLOW) {
+                            rescanPending = true;
+                        } else if (kind == StandardWatchEventKinds.ENTRY_CREATE) {
+                            names.add(event.context().toString());
+                        } else if (kind == StandardWatchEventKinds.ENTRY_DELETE) {
+                            names.remove(event.context().toString());
+                        }
+                    }
+                    if (!key.reset()) {
+                        stop();
+                        return;
+                    }
+                } while ((key = watcher.poll()) != null);
+                if (rescanPending) {
+                    try {
+                        names = list(dir);
+                        rescans++;
+                        rescanPending = false;
+                    } catch (IOException e) {
+                        // Keep the event-derived names and retry on the next wake-up.
+                    }
+                }
+                snapshot = Set.copyOf(names);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            stop();
+        }
+    }
+
+    private void stop() {
+        valid = false;
+        snapshot = Set.of();
+    }
+
+    private static Set<String> list(Path dir) throws IOException {
+        Set<String> names = new HashSet<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+            for (Path entry : entries) {
+                names.add(entry.getFileName().toString());
+            }
+        } catch (DirectoryIteratorException e) {
+            throw e.getCause();
+        }
+        return names;
+    }
+}
@@ -0,0 +1,207 @@
+package ch14.examples;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Memory-mapped alternative to {@link StreamIOExamples#readLines(Path)} for files too large to hold
+ * as a {@code List<String>}. The file is mapped through {@link FileChannel#map} one region at a time
+ * and newline bytes are located directly in the {@link MappedByteBuffer}. Each line is handed out
+ * as a {@link Line}: a {@link CharSequence} view over the mapped bytes that is decoded only when
+ * characters are actually requested.
+ *
+ * <p>A region always starts at the beginning of a line, so a line crossing the end of a region is
+ * simply re-read from the next mapping. When a single line is longer than the region the window is
+ * doubled until the line fits. Lines end at {@code \n}; a preceding {@code \r} is dropped, matching
+ * {@link java.io.BufferedReader#readLine()} for Unix and Windows files. Lone {@code \r} separators
+ * are not recognised.
+ *
+ * <p>Only charsets in which {@code '\n'} and {@code '\r'} are single bytes that never occur inside a
+ * multi-byte sequence (UTF-8, US-ASCII, ISO-8859-1) are supported.
+ */
+public final class MappedLineReader {
+
+    /** Default mapping window; large enough to amortise {@code mmap} calls, small enough for 32-bit address spaces. */
+    static final int DEFAULT_REGION_SIZE = 64 * 1024 * 1024;
+
+    private MappedLineReader() {
+    }
+
+    /**
+     * @return lazy stream of UTF-8 lines; close it (try-with-resources) to release the file channel
+     */
+    public static Stream<Line> lines(Path path) throws IOException {
+        return lines(path, StandardCharsets.UTF_8, DEFAULT_REGION_SIZE);
+    }
+
+    /**
+     * @return lazy stream of lines decoded with {@code charset}, mapping at most {@code regionSize}
+     *     bytes at a time unless a single line needs more
+     */
+    public static Stream<Line> lines(Path path, Charset charset, int regionSize) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return lines(channel, 0L, channel.size(), charset, regionSize).onClose(() -> {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return lazy stream over the lines in {@code [start, end)} of an open channel; {@code start}
+     *     must be the first byte of a line. The caller owns the channel.
+     */
+    static Stream<Line> lines(FileChannel channel, long start, long end, Charset charset, int regionSize) {
+        Objects.requireNonNull(charset);
+        if (regionSize < 1) {
+            throw new IllegalArgumentException("regionSize must be positive: " + regionSize);
+        }
+        return StreamSupport.stream(new LineSpliterator(channel, start, end, charset, regionSize), false);
+    }
+
+    /**
+     * Line backed by a slice of the mapped file. {@link #byteLength()} and {@link #bytes()} never
+     * decode; the first call to a character-based method decodes once and caches the result.
+     */
+    public static final class Line implements CharSequence {
+
+        private final ByteBuffer bytes;
+        private final Charset charset;
+        private String decoded;
+
+        Line(ByteBuffer bytes, Charset charset) {
+            this.bytes = bytes;
+            this.charset = charset;
+        }
+
+        /** @return number of encoded bytes, excluding the line terminator */
+        public int byteLength() {
+            return bytes.remaining();
+        }
+
+        /** @return read-only view of the encoded bytes; no copy is made */
+        public ByteBuffer bytes() {
+            return bytes.asReadOnlyBuffer();
+        }
+
+        @Override
+        public int length() {
+            return toString().length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return toString().charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            if (decoded == null) {
+                decoded = charset.decode(bytes.duplicate()).toString();
+            }
+            return decoded;
+        }
+    }
+
+    /** Walks the channel region by region, emitting one {@link Line} per terminator found. */
+    private static final class LineSpliterator extends Spliterators.AbstractSpliterator<Line> {
+
+        private final FileChannel channel;
+        private final long end;
+        private final Charset charset;
+        private final int regionSize;
+        private MappedByteBuffer region;
+        private long regionStart;
+        private long position;
+
+        LineSpliterator(FileChannel channel, long start, long end, Charset charset, int regionSize) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+            this.charset = charset;
+            this.regionSize = regionSize;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Line> action) {
+            if (position >= end) {
+                return false;
+            }
+            try {
+                action.accept(nextLine());
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private Line nextLine() throws IOException {
+            int window = regionSize;
+            int scanned = 0;
+            while (true) {
+                if (region == null || position + scanned >= regionStart + region.limit()) {
+                    long length = Math.min(window, end - position);
+                    if (region != null && regionStart == position && length <= region.limit()) {
+                        window = growWindow(window);
+                        length = Math.min(window, end - position);
+                    }
+                    region = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                    regionStart = position;
+                }
+                int lineStart = (int) (position - regionStart);
+                int limit = region.limit();
+                for (int i = lineStart + scanned; i < limit; i++) {
+                    if (region.get(i) == '\n') {
+                        position = regionStart + i + 1;
+                        return slice(lineStart, i);
+                    }
+                }
+                scanned = limit - lineStart;
+                if (regionStart + limit == end) {
+                    position = end;
+                    return slice(lineStart, limit);
+                }
+            }
+        }
+
+        private Line slice(int from, int to) {
+            if (to > from && region.get(to - 1) == '\r') {
+                to--;
+            }
+            return new Line(region.slice(from, to - from), charset);
+        }
+
+        private static int growWindow(int window) throws IOException {
+            if (window == Integer.MAX_VALUE) {
+                throw new IOException("Line longer than " + Integer.MAX_VALUE + " bytes");
+            }
+            return (int) Math.min(Integer.MAX_VALUE, window * 2L);
+        }
+    }
+}
@@ -39,13 +39,14 @@ public final class Nio2AttributesExamples {
 
     /**
      * Walks a file tree while skipping hidden directories, mirroring the book's filtering example.
+     * {@link ParallelFileWalker#walk(Path)} applies the same rule across a fork/join pool.
      */
     public static List<Path> walkWithFilter(Path root) throws IOException {
         List<Path> list = new ArrayList<>();
         Files.walkFileTree(root, new SimpleFileVisitor<>() {
             @Override
             public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-                if (dir.getFileName().toString().startsWith(".")) {
+                if (isHiddenDirectory(dir)) {
                     return FileVisitResult.SKIP_SUBTREE;
                 }
                 return FileVisitResult.CONTINUE;
@@ -60,6 +61,20 @@ public final class Nio2AttributesExamples {
         return list;
     }
 
+    /**
+     * Skip rule shared by the filtered walkers: directories whose name starts with a dot. File-system
+     * roots and the relative names {@code .} and {@code ..} are never hidden, so walking
+     * {@code Path.of(".")} visits the working directory.
+     */
+    static boolean isHiddenDirectory(Path dir) {
+        Path name = dir.getFileName();
+        if (name == null) {
+            return false;
+        }
+        String text = name.toString();
+        return text.startsWith(".") && !text.equals(".") && !text.equals("..");
+    }
+
     /** @return root directories from the default file system. */
     public static Iterable<Path> rootDirectories() {
         return FileSystems.getDefault().getRootDirectories();
@@ -0,0 +1,240 @@
+package ch14.examples;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Fork/join counterpart of {@link Nio2AttributesExamples#walkWithFilter(Path)} for trees where a
+ * single-threaded {@link Files#walkFileTree} is latency bound, such as large network shares. Every
+ * directory becomes a {@link RecursiveAction} that lists its entries and forks one subtask per
+ * subdirectory, so many directory reads are in flight at once. Hidden directories are skipped with
+ * the same rule as {@code walkWithFilter}, and symbolic links are reported as files, not followed.
+ *
+ * <p>Files are handed to the caller through a bounded queue as soon as they are found rather than
+ * collected first; when the consumer falls behind, producers block in
+ * {@link ForkJoinPool#managedBlock} so the pool can compensate instead of stalling. The order of
+ * the returned paths is unspecified.
+ *
+ * <p>The returned stream must be closed (try-with-resources), which stops the remaining tasks even
+ * if it was not fully consumed. Entries that disappear between listing and inspection are ignored;
+ * any other {@link IOException} ends the walk and is rethrown from the stream as an
+ * {@link UncheckedIOException} once the files found before it have been delivered.
+ */
+public final class ParallelFileWalker {
+
+    /** Default number of discovered paths buffered ahead of the consumer. */
+    static final int DEFAULT_QUEUE_CAPACITY = 4_096;
+
+    private static final Object END = new Object();
+    private static final long OFFER_RETRY_MILLIS = 10L;
+
+    private ParallelFileWalker() {
+    }
+
+    /**
+     * @return files below {@code root}, skipping hidden directories, walked on the common pool
+     */
+    public static Stream<Path> walk(Path root) throws IOException {
+        return walk(root, ForkJoinPool.commonPool(), DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @return files below {@code root}, skipping hidden directories, walked on {@code pool} with at
+     *     most {@code queueCapacity} paths buffered. A dedicated pool with more threads than cores
+     *     suits high-latency file systems, where workers spend most of their time waiting on I/O.
+     */
+    public static Stream<Path> walk(Path root, ForkJoinPool pool, int queueCapacity) throws IOException {
+        Objects.requireNonNull(pool);
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity must be positive: " + queueCapacity);
+        }
+        BasicFileAttributes attributes = Files.readAttributes(root, BasicFileAttributes.class);
+        if (!attributes.isDirectory()) {
+            return Stream.of(root);
+        }
+        if (Nio2AttributesExamples.isHiddenDirectory(root)) {
+            return Stream.empty();
+        }
+        Walk walk = new Walk(queueCapacity);
+        pool.execute(ForkJoinTask.adapt(() -> walk.run(root)));
+        return StreamSupport.stream(walk, false).onClose(walk::cancel);
+    }
+
+    /** Shared state of one walk, consumed through its {@link Spliterator} face. */
+    private static final class Walk extends Spliterators.AbstractSpliterator<Path> {
+
+        private final BlockingQueue<Object> queue;
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private volatile boolean cancelled;
+        private boolean finished;
+
+        Walk(int queueCapacity) {
+            super(Long.MAX_VALUE, Spliterator.NONNULL | Spliterator.DISTINCT);
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        /** Walks the whole tree from the calling worker, then signals the end of the stream. */
+        void run(Path root) {
+            try {
+                new DirectoryTask(root).invoke();
+            } catch (RuntimeException | Error e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                emit(END);
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            queue.clear();
+        }
+
+        boolean stopped() {
+            return cancelled || failure.get() != null;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Path> action) {
+            if (finished) {
+                return false;
+            }
+            Object item;
+            try {
+                item = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                throw new UncheckedIOException(new InterruptedIOException("Interrupted while waiting for the walk"));
+            }
+            if (item == END) {
+                finished = true;
+                rethrowFailure();
+                return false;
+            }
+            action.accept((Path) item);
+            return true;
+        }
+
+        private void rethrowFailure() {
+            Throwable cause = failure.get();
+            if (cause instanceof IOException io) {
+                throw new UncheckedIOException(io);
+            } else if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            } else if (cause instanceof Error error) {
+                throw error;
+            }
+        }
+
+        /** Queues {@code item}, blocking as a managed blocker while the queue is full. */
+        private void emit(Object item) {
+            if (cancelled || queue.offer(item)) {
+                return;
+            }
+            try {
+                ForkJoinPool.managedBlock(new Put(item));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelled = true;
+            }
+        }
+
+        /** Blocking queue insertion that gives up once the consumer has closed the stream. */
+        private final class Put implements ForkJoinPool.ManagedBlocker {
+
+            private final Object item;
+            private boolean done;
+
+            Put(Object item) {
+                this.item = item;
+            }
+
+            @Override
+            public boolean block() throws InterruptedException {
+                while (!isReleasable()) {
+                    done = queue.offer(item, OFFER_RETRY_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                return true;
+            }
+
+            @Override
+            public boolean isReleasable() {
+                return done || cancelled || (done = queue.offer(item));
+            }
+        }
+
+        /** Lists one directory, emits its files, and forks a subtask per visible subdirectory. */
+        private final class DirectoryTask extends RecursiveAction {
+
+            private static final long serialVersionUID = 1L;
+
+            private final transient Path dir;
+
+            DirectoryTask(Path dir) {
+                this.dir = dir;
+            }
+
+            @Override
+            protected void compute() {
+                if (stopped()) {
+                    return;
+                }
+                List<DirectoryTask> subtasks = new ArrayList<>();
+                try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+                    for (Path entry : entries) {
+                        if (stopped()) {
+                            break;
+                        }
+                        visit(entry, subtasks);
+                    }
+                } catch (IOException e) {
+                    failure.compareAndSet(null, e);
+                } catch (DirectoryIteratorException e) {
+                    failure.compareAndSet(null, e.getCause());
+                }
+                for (DirectoryTask subtask : subtasks) {
+                    subtask.join();
+                }
+            }
+
+            private void visit(Path entry, List<DirectoryTask> subtasks) throws IOException {
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                } catch (NoSuchFileException e) {
+                    return;
+                }
+                if (!attributes.isDirectory()) {
+                    emit(entry);
+                } else if (!Nio2AttributesExamples.isHiddenDirectory(entry)) {
+                    DirectoryTask subtask = new DirectoryTask(entry);
+                    subtask.fork();
+                    subtasks.add(subtask);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package ch14.examples;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Multi-core counterpart of {@link StreamIOExamples#readLines(Path)} for aggregations over large
+ * text files. The file is cut into byte ranges whose boundaries are moved forward to the next line
+ * start, and each range is read by its own fork/join task through
+ * {@link MappedLineReader}. Every line is passed to a mapper and the results are folded with an
+ * associative combiner, first within a range and then across ranges in file order, so the combiner
+ * does not need to be commutative.
+ *
+ * <p>The file is split into about four ranges per pool thread (at least {@link #MIN_CHUNK_BYTES}
+ * each) so that workers finishing early can steal the remaining ranges. Lines reach the mapper as
+ * lazily decoded {@link MappedLineReader.Line} views; call {@code toString()} to keep one beyond the
+ * call. The charset restrictions of {@link MappedLineReader} apply.
+ */
+public final class ParallelLineProcessor {
+
+    /** Smallest range worth a task of its own. */
+    static final long MIN_CHUNK_BYTES = 1024 * 1024;
+
+    private static final int CHUNKS_PER_WORKER = 4;
+    private static final int ALIGN_BUFFER_SIZE = 8 * 1024;
+
+    private ParallelLineProcessor() {
+    }
+
+    /**
+     * @return combination of {@code mapper} applied to every UTF-8 line, computed on the common pool;
+     *     empty for an empty file
+     */
+    public static <R> Optional<R> process(Path path, Function<? super CharSequence, ? extends R> mapper, BinaryOperator<R> combiner) throws IOException {
+        return process(path, StandardCharsets.UTF_8, ForkJoinPool.commonPool(), mapper, combiner);
+    }
+
+    /**
+     * @return combination of {@code mapper} applied to every line decoded with {@code charset},
+     *     computed on {@code pool}; empty for an empty file. The mapper must not return {@code null}.
+     */
+    public static <R> Optional<R> process(Path path, Charset charset, ForkJoinPool pool,
+                                          Function<? super CharSequence, ? extends R> mapper, BinaryOperator<R> combiner) throws IOException {
+        return process(path, charset, pool, MIN_CHUNK_BYTES, mapper, combiner);
+    }
+
+    static <R> Optional<R> process(Path path, Charset charset, ForkJoinPool pool, long minChunkBytes,
+                                   Function<? super CharSequence, ? extends R> mapper, BinaryOperator<R> combiner) throws IOException {
+        Objects.requireNonNull(charset);
+        Objects.requireNonNull(mapper);
+        Objects.requireNonNull(combiner);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long chunk = Math.max(minChunkBytes, ceilDiv(size, (long) pool.getParallelism() * CHUNKS_PER_WORKER));
+            long[] bounds = lineAlignedBounds(channel, size, chunk);
+            return pool.invoke(new RangeTask<>(channel, bounds, 0, bounds.length - 1, charset, mapper, combiner));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * @return increasing offsets {@code 0 = b0 < b1 < ... < bn = size}, each {@code bi} the start of
+     *     a line at or after {@code i * chunk}
+     */
+    static long[] lineAlignedBounds(FileChannel channel, long size, long chunk) throws IOException {
+        long[] bounds = new long[(int) Math.min(Integer.MAX_VALUE - 1, Math.max(1L, ceilDiv(size, chunk))) + 1];
+        int count = 1;
+        ByteBuffer buffer = ByteBuffer.allocate(ALIGN_BUFFER_SIZE);
+        for (long target = chunk; target < size; target += chunk) {
+            if (target <= bounds[count - 1]) {
+                continue;
+            }
+            long aligned = nextLineStart(channel, target, size, buffer);
+            if (aligned >= size) {
+                break;
+            }
+            bounds[count++] = aligned;
+        }
+        bounds[count++] = size;
+        return Arrays.copyOf(bounds, count);
+    }
+
+    /** @return offset just past the first {@code '\n'} at or after {@code position - 1}, or {@code size} */
+    private static long nextLineStart(FileChannel channel, long position, long size, ByteBuffer buffer) throws IOException {
+        long offset = position - 1;
+        while (offset < size) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return size;
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return (dividend + divisor - 1) / divisor;
+    }
+
+    /** Processes ranges {@code [from, to)} of the bounds array, splitting in half until one remains. */
+    private static final class RangeTask<R> extends RecursiveTask<Optional<R>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient FileChannel channel;
+        private final long[] bounds;
+        private final int from;
+        private final int to;
+        private final transient Charset charset;
+        private final transient Function<? super CharSequence, ? extends R> mapper;
+        private final transient BinaryOperator<R> combiner;
+
+        RangeTask(FileChannel channel, long[] bounds, int from, int to, Charset charset,
+                  Function<? super CharSequence, ? extends R> mapper, BinaryOperator<R> combiner) {
+            this.channel = channel;
+            this.bounds = bounds;
+            this.from = from;
+            this.to = to;
+            this.charset = charset;
+            this.mapper = mapper;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected Optional<R> compute() {
+            if (to - from == 1) {
+                try (Stream<MappedLineReader.Line> lines = MappedLineReader.lines(channel, bounds[from], bounds[to], charset,
+                    MappedLineReader.DEFAULT_REGION_SIZE)) {
+                    return lines.<R>map(mapper).reduce(combiner);
+                }
+            }
+            int middle = (from + to) >>> 1;
+            RangeTask<R> right = new RangeTask<>(channel, bounds, middle, to, charset, mapper, combiner);
+            right.fork();
+            Optional<R> left = new RangeTask<>(channel, bounds, from, middle, charset, mapper, combiner).compute();
+            Optional<R> rightResult = right.join();
+            if (left.isEmpty()) {
+                return rightResult;
+            }
+            return rightResult.isEmpty() ? left : Optional.of(combiner.apply(left.get(), rightResult.get()));
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package ch14.examples;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+
+/**
+ * Cache of decoded classpath resources for text that is read over and over, such as templates.
+ * A miss reads the resource's raw bytes with {@link InputStream#readAllBytes()} and decodes them
+ * once, unlike {@link StreamIOExamples#readFromClasspathResource(String)} which re-opens and
+ * re-decodes the resource line by line on every call. Content is returned exactly as stored, line
+ * terminators included.
+ *
+ * <p>The cache is bounded by total characters, not entry count: when a new entry pushes the total
+ * over {@code maxChars}, least recently used entries are dropped until it fits, and a resource
+ * larger than the whole budget is returned without being cached. Entries are held through
+ * {@link SoftReference}s, so the garbage collector may also reclaim them under memory pressure;
+ * such entries are simply reloaded on next use.
+ *
+ * <p>Instances are thread-safe. Lookups synchronize only around the map; a miss is loaded outside
+ * the lock, so two threads missing on the same resource at once may both read it.
+ */
+public final class ResourceCache {
+
+    /** Default character budget (about 32 MB of {@code char} data). */
+    static final long DEFAULT_MAX_CHARS = 16L * 1024 * 1024;
+
+    private final Class<?> anchor;
+    private final Charset charset;
+    private final long maxChars;
+    private final LinkedHashMap<String, CachedText> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReferenceQueue<String> cleared = new ReferenceQueue<>();
+    private long totalChars;
+
+    /**
+     * @param anchor class whose {@link Class#getResourceAsStream(String)} resolves resource names
+     * @param charset encoding of the resources
+     * @param maxChars character budget across all cached resources
+     */
+    public ResourceCache(Class<?> anchor, Charset charset, long maxChars) {
+        if (maxChars < 1) {
+            throw new IllegalArgumentException("maxChars must be positive: " + maxChars);
+        }
+        this.anchor = Objects.requireNonNull(anchor);
+        this.charset = Objects.requireNonNull(charset);
+        this.maxChars = maxChars;
+    }
+
+    /**
+     * @return full decoded content of {@code resourceName}, from the cache when possible
+     * @throws IOException if the resource does not exist or cannot be read
+     */
+    public String get(String resourceName) throws IOException {
+        Objects.requireNonNull(resourceName);
+        synchronized (this) {
+            purgeCleared();
+            CachedText cached = entries.get(resourceName);
+            String content = cached == null ? null : cached.get();
+            if (content != null) {
+                return content;
+            }
+        }
+        String content = load(resourceName);
+        if (content.length() <= maxChars) {
+            synchronized (this) {
+                put(resourceName, content);
+            }
+        }
+        return content;
+    }
+
+    /** @return number of cached resources whose content has not been reclaimed */
+    public synchronized int size() {
+        purgeCleared();
+        return entries.size();
+    }
+
+    /** @return characters currently held by the cache */
+    public synchronized long cachedChars() {
+        purgeCleared();
+        return totalChars;
+    }
+
+    /** Drops every cached resource. */
+    public synchronized void clear() {
+        entries.clear();
+        totalChars = 0L;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ResourceCache[" + entries.size() + " entries, " + totalChars + "/" + maxChars + " chars]";
+    }
+
+    private String load(String resourceName) throws IOException {
+        try (InputStream in = anchor.getResourceAsStream(resourceName)) {
+            if (in == null) {
+                throw new IOException("Resource not found: " + resourceName);
+            }
+            return new String(in.readAllBytes(), charset);
+        }
+    }
+
+    private void put(String resourceName, String content) {
+        CachedText previous = entries.put(resourceName, new CachedText(resourceName, content, cleared));
+        if (previous != null) {
+            totalChars -= previous.length;
+        }
+        totalChars += content.length();
+        Iterator<CachedText> eldest = entries.values().iterator();
+        while (totalChars > maxChars) {
+            totalChars -= eldest.next().length;
+            eldest.remove();
+        }
+    }
+
+    /** Forgets entries whose content the garbage collector has reclaimed. */
+    private void purgeCleared() {
+        CachedText reclaimed;
+        while ((reclaimed = (CachedText) cleared.poll()) != null) {
+            if (entries.remove(reclaimed.name, reclaimed)) {
+                totalChars -= reclaimed.length;
+            }
+        }
+    }
+
+    /** Soft reference that remembers its key and size so it can be unaccounted once cleared. */
+    private static final class CachedText extends SoftReference<String> {
+
+        private final String name;
+        private final int length;
+
+        CachedText(String name, String content, ReferenceQueue<String> queue) {
+            super(content, queue);
+            this.name = name;
+            this.length = content.length();
+        }
+    }
+}
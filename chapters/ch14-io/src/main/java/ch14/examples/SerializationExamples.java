@@ -14,6 +14,8 @@ import java.io.Serializable;
  */
 public final class SerializationExamples {
 
+    private static final RecordCodec<Animal> ANIMAL_CODEC = RecordCodec.of(Animal.class);
+
     private SerializationExamples() {
     }
 
@@ -35,4 +37,17 @@ public final class SerializationExamples {
             return (Animal) in.readObject();
         }
     }
+
+    /**
+     * Writes an {@link Animal} with {@link RecordCodec}: the record's fields only, without the class
+     * descriptor and reflection that {@link ObjectOutputStream} adds on every call.
+     */
+    public static byte[] serializeCompact(Animal animal) {
+        return ANIMAL_CODEC.encode(animal);
+    }
+
+    /** Reads an {@link Animal} written by {@link #serializeCompact(Animal)}. */
+    public static Animal deserializeCompact(byte[] data) throws IOException {
+        return ANIMAL_CODEC.decode(data);
+    }
 }
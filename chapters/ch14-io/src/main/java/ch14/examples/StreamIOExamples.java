@@ -7,19 +7,29 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
 
 /**
  * Demonstrates classic {@code java.io} stream usage from Chapter 14, including buffered readers and
- * writers, stream copying, and classpath resource reading.
+ * writers, stream copying, and classpath resource reading. Channel-based copying is shown alongside
+ * the stream version for comparison.
  *
  * @see <a href="https://learning.oreilly.com/library/view/ocp-oracle-certified/9781119864585/c14.xhtml">OCP Java SE 17 Study Guide – Chapter 14: Working with I/O Streams</a>
  */
 public final class StreamIOExamples {
 
+    /** Bytes requested per {@code transferTo} call; bounds the interval between progress callbacks. */
+    static final long TRANSFER_CHUNK = 64L * 1024 * 1024;
+
+    private static final ResourceCache RESOURCES = new ResourceCache(StreamIOExamples.class, StandardCharsets.UTF_8, ResourceCache.DEFAULT_MAX_CHARS);
+
     private StreamIOExamples() {
     }
 
@@ -30,7 +40,55 @@ public final class StreamIOExamples {
         }
     }
 
-    /** Reads all lines using a {@link BufferedReader} with UTF-8 encoding. */
+    /**
+     * Copies one file to another with {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}
+     * so the operating system can move the bytes without staging them in a user-space buffer.
+     */
+    public static void copyWithChannels(Path source, Path target) throws IOException {
+        copyWithChannels(source, target, copied -> { });
+    }
+
+    /**
+     * Channel-based copy that reports the running byte count to {@code progress} after every chunk.
+     * The target is created or truncated, like {@link #copyWithStreams(Path, Path)}.
+     */
+    public static void copyWithChannels(Path source, Path target, LongConsumer progress) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            transfer(in, out, progress);
+        }
+    }
+
+    /**
+     * Moves the whole of {@code in} into {@code out} in chunks of at most {@link #TRANSFER_CHUNK}
+     * bytes. A single {@code transferTo} call may move fewer bytes than requested (and is capped
+     * near 2 GB on most platforms), so the loop keeps going until the source size is reached.
+     *
+     * @return number of bytes transferred
+     * @throws IOException if a {@code transferTo} call moves no bytes before the end of the source
+     */
+    static long transfer(FileChannel in, FileChannel out, LongConsumer progress) throws IOException {
+        long size = in.size();
+        long position = 0L;
+        while (position < size) {
+            long transferred = in.transferTo(position, Math.min(TRANSFER_CHUNK, size - position), out);
+            if (transferred <= 0) {
+                if (position >= in.size()) {
+                    // The source shrank while copying; everything left has been moved.
+                    break;
+                }
+                throw new IOException("transferTo made no progress at position " + position + " of " + size);
+            }
+            position += transferred;
+            progress.accept(position);
+        }
+        return position;
+    }
+
+    /**
+     * Reads all lines using a {@link BufferedReader} with UTF-8 encoding. For files too large to hold
+     * in memory see {@link MappedLineReader}, and {@link ParallelLineProcessor} to use every core.
+     */
     public static List<String> readLines(Path path) throws IOException {
         try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
             return reader.lines().toList();
@@ -47,9 +105,23 @@ public final class StreamIOExamples {
         }
     }
 
+    /**
+     * Writes text lines through a {@link BulkLineWriter}: same output as
+     * {@link #writeLines(Path, List)}, but encoded into reused direct buffers and written with large
+     * gathering writes.
+     */
+    public static void writeLinesBulk(Path path, Iterable<? extends CharSequence> lines) throws IOException {
+        try (BulkLineWriter writer = BulkLineWriter.open(path)) {
+            for (CharSequence line : lines) {
+                writer.writeLine(line);
+            }
+        }
+    }
+
     /**
      * Reads a classpath resource via {@link Class#getResourceAsStream(String)} and returns its
-     * contents as a single string.
+     * contents as a single string, lines joined with {@code \n}. Resources read repeatedly are
+     * better served by {@link #readFromClasspathResourceCached(String)}.
      */
     public static String readFromClasspathResource(String resourceName) throws IOException {
         try (InputStream in = StreamIOExamples.class.getResourceAsStream(resourceName)) {
@@ -57,8 +129,17 @@ public final class StreamIOExamples {
                 throw new IOException("Resource not found: " + resourceName);
             }
             try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
-                return reader.lines().reduce((a, b) -> a + "\n" + b).orElse("");
+                return reader.lines().collect(Collectors.joining("\n"));
             }
         }
     }
+
+    /**
+     * @return content of a classpath resource, decoded once and then served from a shared
+     *     {@link ResourceCache}. Unlike {@link #readFromClasspathResource(String)} the text is
+     *     returned exactly as stored, including line terminators.
+     */
+    public static String readFromClasspathResourceCached(String resourceName) throws IOException {
+        return RESOURCES.get(resourceName);
+    }
 }
@@ -0,0 +1,79 @@
+package ch14.examples;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnmappableCharacterException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class BulkLineWriterTest {
+
+    /** Mixes ASCII, two- and three-byte characters, and surrogate pairs so encodings straddle buffer ends. */
+    private static final List<String> LINES = IntStream.range(0, 10_000)
+        .mapToObj(i -> "row " + i + " café €" + i + " 😀".repeat(i % 5))
+        .toList();
+
+    @Test
+    void synchronousOutputMatchesBufferedWriter() throws IOException {
+        assertSameAsWriteLines(false);
+    }
+
+    @Test
+    void asynchronousOutputMatchesBufferedWriter() throws IOException {
+        assertSameAsWriteLines(true);
+    }
+
+    @Test
+    void writeLinesBulkMatchesWriteLines() throws IOException {
+        Path expected = Files.createTempFile("lines", ".txt");
+        Path actual = Files.createTempFile("bulk", ".txt");
+        StreamIOExamples.writeLines(expected, LINES);
+        StreamIOExamples.writeLinesBulk(actual, LINES);
+        assertArrayEquals(Files.readAllBytes(expected), Files.readAllBytes(actual));
+    }
+
+    @Test
+    void flushMakesOutputVisible() throws IOException {
+        Path file = Files.createTempFile("bulk", ".txt");
+        try (BulkLineWriter writer = BulkLineWriter.open(file, StandardCharsets.UTF_8, 1024, true)) {
+            writer.writeLine(new StringBuilder("first"));
+            writer.flush();
+            assertEquals(List.of("first"), Files.readAllLines(file));
+        }
+    }
+
+    @Test
+    void unmappableCharacterIsReported() throws IOException {
+        Path file = Files.createTempFile("bulk", ".txt");
+        BulkLineWriter writer = BulkLineWriter.open(file, StandardCharsets.US_ASCII, 1024, false);
+        writer.writeLine("café");
+        assertThrows(UnmappableCharacterException.class, writer::close);
+    }
+
+    @Test
+    void closedWriterRejectsLines() throws IOException {
+        BulkLineWriter writer = BulkLineWriter.open(Files.createTempFile("bulk", ".txt"));
+        writer.close();
+        assertThrows(IOException.class, () -> writer.writeLine("late"));
+    }
+
+    private static void assertSameAsWriteLines(boolean async) throws IOException {
+        Path expected = Files.createTempFile("lines", ".txt");
+        Path actual = Files.createTempFile("bulk", ".txt");
+        StreamIOExamples.writeLines(expected, LINES);
+        try (BulkLineWriter writer = BulkLineWriter.open(actual, StandardCharsets.UTF_8, 4_096, async)) {
+            for (String line : LINES) {
+                writer.writeLine(line);
+            }
+        }
+        assertArrayEquals(Files.readAllBytes(expected), Files.readAllBytes(actual));
+    }
+}
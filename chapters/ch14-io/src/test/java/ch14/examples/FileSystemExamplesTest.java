@@ -1,12 +1,15 @@
 package ch14.examples;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.jupiter.api.Test;
 
@@ -25,4 +28,15 @@ class FileSystemExamplesTest {
         List<Path> visited = FileSystemExamples.walkDirectory(tempDir);
         assertEquals(1, visited.size());
     }
+
+    @Test
+    void channelCopyRefusesExistingTarget() throws IOException {
+        Path source = FileSystemExamples.createTempFileWithContent("source", ".txt", "hello");
+        Path copy = Files.createTempDirectory("io-copy").resolve("copy.txt");
+        AtomicLong copied = new AtomicLong();
+        FileSystemExamples.copyFile(source, copy, copied::set);
+        assertEquals("hello", Files.readString(copy));
+        assertEquals(5L, copied.get());
+        assertThrows(FileAlreadyExistsException.class, () -> FileSystemExamples.copyFile(source, copy, bytes -> { }));
+    }
 }
@@ -0,0 +1,112 @@
+package ch14.examples;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+class FileTreeIndexTest {
+
+    private static final FileTime AN_HOUR_AGO = FileTime.from(Instant.now().minus(1, ChronoUnit.HOURS));
+
+    @Test
+    void indexesSameFilesAsFilteredWalk() throws IOException {
+        Path root = createTree();
+        FileTreeIndex index = FileTreeIndex.build(root);
+        List<Path> walked = Nio2AttributesExamples.walkWithFilter(root);
+        assertEquals(walked.size(), index.fileCount());
+        for (Path file : walked) {
+            assertEquals(Files.size(file), index.lookup(file).orElseThrow().size());
+        }
+        assertTrue(index.lookup(root.resolve(".hidden").resolve("skip.txt")).isEmpty());
+    }
+
+    @Test
+    void unchangedDirectoriesAreNotListedAgain() throws IOException {
+        Path root = createTree();
+        ageDirectories(root);
+        FileTreeIndex index = FileTreeIndex.build(root);
+        FileTreeIndex.Changes changes = index.refresh();
+        assertTrue(changes.isEmpty());
+        assertEquals(0, changes.listedDirectories());
+    }
+
+    @Test
+    void reportsAddedChangedAndRemovedFiles() throws IOException {
+        Path root = createTree();
+        ageDirectories(root);
+        FileTreeIndex index = FileTreeIndex.build(root);
+
+        Path added = Files.writeString(root.resolve("a").resolve("new.txt"), "new");
+        Path changed = root.resolve("b").resolve("b1.txt");
+        Files.writeString(changed, "rewritten with more bytes");
+        Files.setLastModifiedTime(changed.getParent(), FileTime.from(Instant.now()));
+        Path removedDir = root.resolve("a").resolve("nested");
+        Path removed = removedDir.resolve("n1.txt");
+        Files.delete(removed);
+        Files.delete(removedDir);
+
+        FileTreeIndex.Changes changes = index.refresh();
+        assertEquals(List.of(added), changes.added());
+        assertEquals(List.of(changed), changes.changed());
+        assertEquals(List.of(removed), changes.removed());
+        assertEquals(2, changes.listedDirectories());
+        assertEquals(5, index.fileCount());
+    }
+
+    @Test
+    void saveAndLoadRoundTrip() throws IOException {
+        Path root = createTree();
+        ageDirectories(root);
+        FileTreeIndex index = FileTreeIndex.build(root);
+        Path indexFile = Files.createTempDirectory("index").resolve("tree.idx");
+        index.save(indexFile);
+
+        FileTreeIndex loaded = FileTreeIndex.load(indexFile);
+        assertEquals(index.root(), loaded.root());
+        assertEquals(index.fileCount(), loaded.fileCount());
+        Path file = root.resolve("a").resolve("nested").resolve("n1.txt");
+        assertEquals(index.lookup(file), loaded.lookup(file));
+        assertTrue(loaded.refresh().isEmpty());
+    }
+
+    @Test
+    void loadRejectsForeignFiles() throws IOException {
+        Path bogus = Files.write(Files.createTempFile("bogus", ".idx"), new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+        assertThrows(StreamCorruptedException.class, () -> FileTreeIndex.load(bogus));
+    }
+
+    /** {@code a/a1.txt, a/nested/n1.txt, b/b1.txt, b/b2.txt, top.txt}, plus a hidden directory. */
+    private static Path createTree() throws IOException {
+        Path root = Files.createTempDirectory("tree-index");
+        Files.writeString(root.resolve("top.txt"), "top");
+        Path a = Files.createDirectory(root.resolve("a"));
+        Files.writeString(a.resolve("a1.txt"), "a1");
+        Files.writeString(Files.createDirectory(a.resolve("nested")).resolve("n1.txt"), "n1");
+        Path b = Files.createDirectory(root.resolve("b"));
+        Files.writeString(b.resolve("b1.txt"), "b1");
+        Files.writeString(b.resolve("b2.txt"), "b2");
+        Files.writeString(Files.createDirectory(root.resolve(".hidden")).resolve("skip.txt"), "skip");
+        return root;
+    }
+
+    /** Moves directory mtimes out of the racy window so an unchanged directory is trusted. */
+    private static void ageDirectories(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path dir : paths.filter(Files::isDirectory).toList()) {
+                Files.setLastModifiedTime(dir, AN_HOUR_AGO);
+            }
+        }
+    }
+}
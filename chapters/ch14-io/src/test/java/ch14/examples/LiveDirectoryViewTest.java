@@ -0,0 +1,71 @@
+package ch14.examples;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+
+class LiveDirectoryViewTest {
+
+    @Test
+    void initialSnapshotMatchesListing() throws IOException {
+        Path dir = Files.createTempDirectory("live");
+        Files.writeString(dir.resolve("a.txt"), "a");
+        Files.createDirectory(dir.resolve("sub"));
+        try (LiveDirectoryView view = LiveDirectoryView.open(dir)) {
+            assertEquals(Set.copyOf(FileSystemExamples.listDirectory(dir)), view.snapshot());
+            assertTrue(view.isValid());
+        }
+    }
+
+    @Test
+    void tracksCreatedAndDeletedEntries() throws Exception {
+        Path dir = Files.createTempDirectory("live");
+        try (LiveDirectoryView view = LiveDirectoryView.open(dir)) {
+            Path file = Files.writeString(dir.resolve("spool-1.dat"), "x");
+            awaitTrue(() -> view.snapshot().contains("spool-1.dat"));
+            Files.delete(file);
+            awaitTrue(() -> view.snapshot().isEmpty());
+        }
+    }
+
+    @Test
+    void snapshotsAreImmutable() throws IOException {
+        Path dir = Files.createTempDirectory("live");
+        try (LiveDirectoryView view = LiveDirectoryView.open(dir)) {
+            assertThrows(UnsupportedOperationException.class, () -> view.snapshot().add("x"));
+        }
+    }
+
+    @Test
+    void closedViewIsInvalid() throws IOException {
+        Path dir = Files.createTempDirectory("live");
+        LiveDirectoryView view = LiveDirectoryView.open(dir);
+        view.close();
+        assertFalse(view.isValid());
+        assertTrue(view.snapshot().isEmpty());
+    }
+
+    @Test
+    void rejectsRegularFiles() throws IOException {
+        Path file = Files.createTempFile("live", ".txt");
+        assertThrows(NotDirectoryException.class, () -> LiveDirectoryView.open(file));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 10 s");
+            Thread.sleep(10);
+        }
+    }
+}
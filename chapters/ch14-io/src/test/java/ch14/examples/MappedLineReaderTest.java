@@ -0,0 +1,46 @@
+package ch14.examples;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+class MappedLineReaderTest {
+
+    @Test
+    void matchesReadLinesForDefaultRegion() throws IOException {
+        Path file = Files.createTempFile("mapped", ".txt");
+        StreamIOExamples.writeLines(file, List.of("alpha", "beta", "", "gamma"));
+        try (Stream<MappedLineReader.Line> lines = MappedLineReader.lines(file)) {
+            assertEquals(StreamIOExamples.readLines(file), lines.map(CharSequence::toString).toList());
+        }
+    }
+
+    @Test
+    void handlesLinesSpanningAndExceedingRegions() throws IOException {
+        Path file = Files.createTempFile("mapped-regions", ".txt");
+        String content = "short\r\nthis line is much longer than one region\nzooéè café\n\nlast-without-newline";
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        try (Stream<MappedLineReader.Line> lines = MappedLineReader.lines(file, StandardCharsets.UTF_8, 8)) {
+            assertEquals(Files.readAllLines(file), lines.map(CharSequence::toString).toList());
+        }
+    }
+
+    @Test
+    void exposesBytesWithoutDecoding() throws IOException {
+        Path file = Files.createTempFile("mapped-bytes", ".txt");
+        Files.writeString(file, "café\n", StandardCharsets.UTF_8);
+        try (Stream<MappedLineReader.Line> lines = MappedLineReader.lines(file)) {
+            MappedLineReader.Line line = lines.findFirst().orElseThrow();
+            assertEquals(5, line.byteLength());
+            assertEquals(4, line.length());
+            assertEquals('é', line.charAt(3));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package ch14.examples;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+class ParallelFileWalkerTest {
+
+    @Test
+    void findsSameFilesAsSerialFilteredWalk() throws IOException {
+        Path root = createTree();
+        Set<Path> expected = new HashSet<>(Nio2AttributesExamples.walkWithFilter(root));
+        try (Stream<Path> files = ParallelFileWalker.walk(root)) {
+            assertEquals(expected, files.collect(Collectors.toSet()));
+        }
+        assertEquals(25, expected.size());
+    }
+
+    @Test
+    void tinyQueueAppliesBackPressureWithoutLosingFiles() throws Exception {
+        Path root = createTree();
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try (Stream<Path> files = ParallelFileWalker.walk(root, pool, 1)) {
+            assertEquals(25L, files.count());
+        } finally {
+            pool.shutdown();
+        }
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void closingEarlyStopsTheWalk() throws Exception {
+        Path root = createTree();
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try (Stream<Path> files = ParallelFileWalker.walk(root, pool, 1)) {
+            assertEquals(1L, files.limit(1).count());
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void regularFileRootIsReturnedAsIs() throws IOException {
+        Path file = Files.createTempFile("walk", ".txt");
+        try (Stream<Path> files = ParallelFileWalker.walk(file)) {
+            assertEquals(List.of(file), files.toList());
+        }
+    }
+
+    @Test
+    void missingRootFailsImmediately() {
+        Path missing = Path.of("does-not-exist-" + System.nanoTime());
+        assertThrows(NoSuchFileException.class, () -> ParallelFileWalker.walk(missing));
+    }
+
+    /** Five visible directories of five files each, plus a hidden directory that must be skipped. */
+    private static Path createTree() throws IOException {
+        Path root = Files.createTempDirectory("parallel-walk");
+        Path hidden = Files.createDirectory(root.resolve(".hidden"));
+        Files.writeString(hidden.resolve("skip.txt"), "skip");
+        Path parent = root;
+        for (int depth = 0; depth < 5; depth++) {
+            for (int i = 0; i < 5; i++) {
+                Files.writeString(parent.resolve("file" + i + ".txt"), "data");
+            }
+            parent = Files.createDirectory(parent.resolve("dir" + depth));
+        }
+        return root;
+    }
+}
@@ -0,0 +1,67 @@
+package ch14.examples;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class ParallelLineProcessorTest {
+
+    @Test
+    void sumsCsvColumnAcrossManySmallChunks() throws IOException {
+        Path csv = Files.createTempFile("parallel", ".csv");
+        StreamIOExamples.writeLines(csv, IntStream.range(0, 20_000).mapToObj(i -> "row" + i + "," + i).toList());
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Optional<Long> sum = ParallelLineProcessor.process(csv, StandardCharsets.UTF_8, pool, 4_096,
+                line -> Long.parseLong(line.toString().substring(line.toString().indexOf(',') + 1)), Long::sum);
+            assertEquals(Optional.of(19_999L * 20_000L / 2), sum);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void combinesRangesInFileOrder() throws IOException {
+        Path file = Files.createTempFile("parallel", ".txt");
+        List<String> expected = IntStream.range(0, 5_000).mapToObj(i -> "line-" + i).toList();
+        Files.writeString(file, String.join("\r\n", expected) + "\r\n");
+        Optional<List<String>> lines = ParallelLineProcessor.process(file, StandardCharsets.UTF_8, ForkJoinPool.commonPool(), 1_000,
+            line -> List.of(line.toString()), ParallelLineProcessorTest::concat);
+        assertEquals(expected, lines.orElseThrow());
+    }
+
+    @Test
+    void emptyFileHasNoResult() throws IOException {
+        Path empty = Files.createTempFile("parallel", ".txt");
+        assertTrue(ParallelLineProcessor.process(empty, line -> 1, Integer::sum).isEmpty());
+    }
+
+    @Test
+    void boundsStartLinesAndSkipLongLines() throws IOException {
+        Path file = Files.createTempFile("parallel", ".txt");
+        Files.writeString(file, "aaaaaaaaaa\nb\nc\ndddd");
+        try (FileChannel channel = FileChannel.open(file)) {
+            // Targets 3, 6 and 9 all fall inside the first line and collapse onto offset 11.
+            assertArrayEquals(new long[] {0, 11, 13, 15, 19}, ParallelLineProcessor.lineAlignedBounds(channel, 19, 3));
+        }
+    }
+
+    private static List<String> concat(List<String> left, List<String> right) {
+        List<String> joined = new ArrayList<>(left);
+        joined.addAll(right);
+        return joined;
+    }
+}
@@ -0,0 +1,53 @@
+package ch14.examples;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class RecordCodecTest {
+
+    public record Reading(String sensor, long timestamp, int delta, double value, boolean valid) {
+    }
+
+    public record Unsupported(Object payload) {
+    }
+
+    @Test
+    void animalRoundTripUsesFixedWireFormat() throws IOException {
+        var animal = new SerializationExamples.Animal("lion", 5);
+        byte[] bytes = SerializationExamples.serializeCompact(animal);
+        // length+1 = 5, 'l' 'i' 'o' 'n', zigzag(5) = 10
+        assertArrayEquals(new byte[] {5, 'l', 'i', 'o', 'n', 10}, bytes);
+        assertEquals(animal, SerializationExamples.deserializeCompact(bytes));
+        assertTrue(bytes.length * 10 < SerializationExamples.serialize(animal).length);
+    }
+
+    @Test
+    void roundTripsEverySupportedTypeIncludingEdgeValues() throws IOException {
+        RecordCodec<Reading> codec = RecordCodec.of(Reading.class);
+        for (Reading reading : new Reading[] {
+            new Reading("t-1 ☃", Long.MIN_VALUE, Integer.MIN_VALUE, Double.NaN, true),
+            new Reading(null, Long.MAX_VALUE, Integer.MAX_VALUE, -0.0, false),
+            new Reading("", 0L, -1, 1e300, true)}) {
+            assertEquals(reading, codec.decode(codec.encode(reading)));
+        }
+        assertEquals(RecordCodec.of(Reading.class), codec);
+    }
+
+    @Test
+    void rejectsTruncatedTrailingAndUnsupportedInput() {
+        RecordCodec<SerializationExamples.Animal> codec = RecordCodec.of(SerializationExamples.Animal.class);
+        byte[] bytes = codec.encode(new SerializationExamples.Animal("bear", 300));
+        assertThrows(EOFException.class, () -> codec.decode(Arrays.copyOf(bytes, bytes.length - 1)));
+        assertThrows(StreamCorruptedException.class, () -> codec.decode(Arrays.copyOf(bytes, bytes.length + 1)));
+        assertThrows(IllegalArgumentException.class, () -> RecordCodec.of(Unsupported.class));
+    }
+}
@@ -0,0 +1,47 @@
+package ch14.examples;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class ResourceCacheTest {
+
+    private static final String TEMPLATE = "Dear {{name}},\r\nyour order {{id}} has shipped.\n";
+
+    @Test
+    void returnsExactContentAndCachesIt() throws IOException {
+        ResourceCache cache = new ResourceCache(ResourceCacheTest.class, StandardCharsets.UTF_8, 1_000);
+        String first = cache.get("template.txt");
+        assertEquals(TEMPLATE, first);
+        assertSame(first, cache.get("template.txt"));
+        assertEquals(1, cache.size());
+        assertEquals(TEMPLATE.length(), cache.cachedChars());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedWhenOverBudget() throws IOException {
+        ResourceCache cache = new ResourceCache(ResourceCacheTest.class, StandardCharsets.UTF_8, TEMPLATE.length() + 10);
+        cache.get("template.txt");
+        cache.get("/ch14/examples/template.txt");
+        assertEquals(1, cache.size());
+        assertEquals(TEMPLATE.length(), cache.cachedChars());
+    }
+
+    @Test
+    void resourcesLargerThanBudgetAreNotCached() throws IOException {
+        ResourceCache cache = new ResourceCache(ResourceCacheTest.class, StandardCharsets.UTF_8, 10);
+        assertEquals(TEMPLATE, cache.get("template.txt"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void missingResourceFails() {
+        ResourceCache cache = new ResourceCache(ResourceCacheTest.class, StandardCharsets.UTF_8, 1_000);
+        assertThrows(IOException.class, () -> cache.get("missing.txt"));
+    }
+}
@@ -1,11 +1,14 @@
 package ch14.examples;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 
@@ -22,4 +25,25 @@ class StreamIOExamplesTest {
         StreamIOExamples.copyWithStreams(source, target);
         assertEquals(lines, Files.readAllLines(target));
     }
+
+    @Test
+    void channelCopyReportsProgressUpToFileSize() throws IOException {
+        Path tempDir = Files.createTempDirectory("io-channel");
+        Path source = tempDir.resolve("source.bin");
+        byte[] data = new byte[1 << 20];
+        new Random(42).nextBytes(data);
+        Files.write(source, data);
+        Path target = tempDir.resolve("target.bin");
+        Files.writeString(target, "stale content that must be truncated");
+        List<Long> progress = new ArrayList<>();
+        StreamIOExamples.copyWithChannels(source, target, progress::add);
+        assertArrayEquals(data, Files.readAllBytes(target));
+        assertEquals(data.length, progress.get(progress.size() - 1));
+    }
+
+    @Test
+    void classpathResourceIsJoinedWithNewlinesUnlessCached() throws IOException {
+        assertEquals("Dear {{name}},\nyour order {{id}} has shipped.", StreamIOExamples.readFromClasspathResource("template.txt"));
+        assertEquals("Dear {{name}},\r\nyour order {{id}} has shipped.\n", StreamIOExamples.readFromClasspathResourceCached("template.txt"));
+    }
 }
@@ -0,0 +1,335 @@
+package ch15.examples;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Small bounded JDBC connection pool that replaces a {@link DriverManager#getConnection(String)}
+ * call per operation (see {@link JdbcExamples#connect(String)}) with reuse of already-open
+ * connections.
+ *
+ * <ul>
+ *   <li><b>Bounded</b>: a {@link Semaphore} with {@code maxSize} permits is held for every borrowed
+ *       connection; borrowers wait at most {@code borrowTimeout} for a permit. The semaphore is
+ *       non-fair, so while permits are free, acquiring one is a single CAS on the permit count; only
+ *       an exhausted pool queues borrowers, and then without strict FIFO hand-off.</li>
+ *   <li><b>Lock-free hand-off</b>: idle connections sit in a {@link ConcurrentLinkedDeque} used as a
+ *       stack, so borrow and return are CAS operations and the most recently used (warmest)
+ *       connection is handed out first. Threads only park when the pool is exhausted.</li>
+ *   <li><b>Validation</b>: an idle connection is checked with {@link Connection#isValid(int)} before
+ *       it is handed out, and replaced if the check fails or it exceeded {@code maxLifetime}.</li>
+ *   <li><b>Idle eviction</b>: a daemon housekeeper closes connections idle longer than
+ *       {@code idleTimeout}; {@link #evictIdle()} runs the same pass on demand.</li>
+ * </ul>
+ *
+ * <p>Borrowed connections are proxies: {@link Connection#close()} returns the physical connection
+ * to the pool (rolling back an open transaction and restoring auto-commit) and any further use of
+ * that handle fails. {@link Connection#unwrap(Class)} and {@link Connection#isWrapperFor(Class)}
+ * answer for the proxy only, so callers cannot reach the physical connection and close or keep it
+ * behind the pool's back. The pool works with any code that accepts a {@link Connection}, for example
+ * {@link TransactionExamples#transferTickets(ConnectionPool, int, int, int)}.
+ */
+public final class ConnectionPool implements AutoCloseable {
+
+    /**
+     * Pool settings.
+     *
+     * @param url JDBC URL passed to {@link DriverManager#getConnection(String)}
+     * @param maxSize maximum number of open connections
+     * @param borrowTimeout longest time {@link #borrow()} waits for a free connection
+     * @param maxLifetime age after which a connection is retired instead of reused
+     * @param idleTimeout idle time after which a pooled connection is closed
+     * @param validationTimeout timeout handed to {@link Connection#isValid(int)} (rounded up to seconds)
+     */
+    public record Config(String url, int maxSize, Duration borrowTimeout, Duration maxLifetime, Duration idleTimeout, Duration validationTimeout) {
+
+        public Config {
+            Objects.requireNonNull(url);
+            if (maxSize < 1) {
+                throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+            }
+            requirePositive(borrowTimeout, "borrowTimeout");
+            requirePositive(maxLifetime, "maxLifetime");
+            requirePositive(idleTimeout, "idleTimeout");
+            requirePositive(validationTimeout, "validationTimeout");
+        }
+
+        /** @return configuration with 30 s borrow timeout, 30 min lifetime, 10 min idle timeout, 5 s validation */
+        public static Config of(String url, int maxSize) {
+            return new Config(url, maxSize, Duration.ofSeconds(30), Duration.ofMinutes(30), Duration.ofMinutes(10), Duration.ofSeconds(5));
+        }
+
+        private static void requirePositive(Duration duration, String name) {
+            if (duration == null || duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException(name + " must be positive: " + duration);
+            }
+        }
+    }
+
+    /**
+     * Point-in-time pool statistics.
+     *
+     * @param active connections currently borrowed
+     * @param idle connections waiting in the pool
+     * @param borrows successful {@link #borrow()} calls since creation
+     * @param totalWaitNanos time spent waiting for a permit across all borrow attempts, including
+     *     those that timed out
+     * @param maxWaitNanos longest single wait for a permit
+     */
+    public record Metrics(int active, int idle, long borrows, long totalWaitNanos, long maxWaitNanos) {
+
+        /** @return total wait divided by successful borrows */
+        public Duration averageWait() {
+            return Duration.ofNanos(borrows == 0 ? 0 : totalWaitNanos / borrows);
+        }
+    }
+
+    private final Config config;
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder borrows = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    public ConnectionPool(Config config) {
+        this.config = Objects.requireNonNull(config);
+        this.permits = new Semaphore(config.maxSize());
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1L, config.idleTimeout().toMillis() / 2);
+        housekeeper.scheduleAtFixedRate(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return pooled connection; close it to give it back
+     * @throws SQLTimeoutException if no connection became free within {@code borrowTimeout}
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(config.borrowTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        } finally {
+            recordWait(System.nanoTime() - start);
+        }
+        if (!acquired) {
+            throw new SQLTimeoutException("No connection available within " + config.borrowTimeout());
+        }
+        try {
+            PooledConnection pooled = takeValidIdle();
+            if (pooled == null) {
+                pooled = new PooledConnection(DriverManager.getConnection(config.url()));
+            }
+            active.incrementAndGet();
+            borrows.increment();
+            return pooled.lease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes idle connections that exceeded {@code idleTimeout} or {@code maxLifetime}.
+     *
+     * @return number of connections closed
+     */
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (PooledConnection pooled : idle) {
+            boolean stale = now - pooled.lastReturnedNanos > config.idleTimeout().toNanos() || pooled.isExpired(now);
+            if (stale && idle.remove(pooled)) {
+                pooled.closePhysical();
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /** @return current statistics */
+    public Metrics metrics() {
+        return new Metrics(active.get(), idle.size(), borrows.sum(), totalWaitNanos.sum(), maxWaitNanos.get());
+    }
+
+    /**
+     * Stops housekeeping and closes idle connections. Borrowed connections are closed when they are
+     * returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            pooled.closePhysical();
+        }
+    }
+
+    private PooledConnection takeValidIdle() {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (!pooled.isExpired(System.nanoTime()) && pooled.isValid()) {
+                return pooled;
+            }
+            pooled.closePhysical();
+        }
+        return null;
+    }
+
+    private void giveBack(PooledConnection pooled) {
+        try {
+            if (closed || pooled.isExpired(System.nanoTime()) || !pooled.reset()) {
+                pooled.closePhysical();
+            } else {
+                pooled.lastReturnedNanos = System.nanoTime();
+                idle.offerFirst(pooled);
+                if (closed && idle.remove(pooled)) {
+                    pooled.closePhysical();
+                }
+            }
+        } finally {
+            active.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    /** @return physical connection behind a handle returned by {@link #borrow()}, for tests */
+    static Connection physicalOf(Connection lease) {
+        return ((Lease) Proxy.getInvocationHandler(lease)).pooled.physical;
+    }
+
+    private void recordWait(long waited) {
+        totalWaitNanos.add(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+    }
+
+    /** Physical connection plus the bookkeeping needed for lifetime and idle checks. */
+    private final class PooledConnection {
+
+        private final Connection physical;
+        private final long createdNanos = System.nanoTime();
+        private volatile long lastReturnedNanos = createdNanos;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        Connection lease() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class}, new Lease(this));
+        }
+
+        boolean isExpired(long now) {
+            return now - createdNanos > config.maxLifetime().toNanos();
+        }
+
+        boolean isValid() {
+            try {
+                int seconds = (int) Math.max(1L, (config.validationTimeout().toMillis() + 999) / 1000);
+                return physical.isValid(seconds);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        /** Rolls back unfinished work and restores auto-commit; {@code false} if the connection is unusable. */
+        boolean reset() {
+            try {
+                if (physical.isClosed()) {
+                    return false;
+                }
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        void closePhysical() {
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                // Nothing useful to do: the connection is being discarded.
+            }
+        }
+    }
+
+    /** Invocation handler behind each borrowed {@link Connection} proxy. */
+    private final class Lease implements InvocationHandler {
+
+        private final PooledConnection pooled;
+        private final AtomicBoolean returned = new AtomicBoolean();
+
+        Lease(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (returned.compareAndSet(false, true)) {
+                        giveBack(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned.get() || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled[" + pooled.physical + (returned.get() ? ", returned]" : "]");
+                case "isWrapperFor":
+                    return ((Class<?>) args[0]).isInstance(proxy);
+                case "unwrap":
+                    Class<?> iface = (Class<?>) args[0];
+                    if (!iface.isInstance(proxy)) {
+                        throw new SQLException("Pooled connection does not expose " + iface.getName());
+                    }
+                    return proxy;
+                default:
+                    if (returned.get()) {
+                        throw new SQLException("Connection has been returned to the pool");
+                    }
+                    try {
+                        return method.invoke(pooled.physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
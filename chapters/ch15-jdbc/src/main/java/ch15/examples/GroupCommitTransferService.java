@@ -0,0 +1,187 @@
+package ch15.examples;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalesces ticket transfers into shared transactions so that one commit (and one fsync) covers many
+ * transfers. Callers {@link #submit} a transfer and receive a {@link CompletableFuture}; a single
+ * worker thread collects requests into a batch until {@code maxBatchSize} requests are queued or
+ * {@code maxDelay} has passed since the first one, then runs the whole batch in one transaction on
+ * its connection.
+ *
+ * <p>If one transfer in a batch fails, the transaction is rolled back, that request's future is
+ * completed exceptionally, and the remaining requests are retried as a new batch. If the commit
+ * itself fails, the batch falls back to {@link TransactionExamples#transferTickets(StatementCache,
+ * int, int, int)} one request at a time so each caller gets its own outcome. For an isolated
+ * transfer with no queueing, call {@code transferTickets} directly.
+ *
+ * <p>The service uses its connection exclusively until {@link #close()}; the connection itself is
+ * owned, and closed, by the caller.
+ */
+public final class GroupCommitTransferService implements AutoCloseable {
+
+    private record TransferRequest(int fromId, int toId, int amount, CompletableFuture<Void> result) {
+    }
+
+    private final StatementCache statements;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final BlockingQueue<TransferRequest> queue = new LinkedBlockingQueue<>();
+    private final LongAdder committedBatches = new LongAdder();
+    private final Thread worker;
+    private volatile boolean closed;
+
+    public GroupCommitTransferService(Connection connection, int maxBatchSize, Duration maxDelay) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive: " + maxBatchSize);
+        }
+        if (maxDelay.isNegative()) {
+            throw new IllegalArgumentException("maxDelay must not be negative: " + maxDelay);
+        }
+        this.statements = new StatementCache(Objects.requireNonNull(connection));
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.worker = new Thread(this::run, "group-commit-transfers");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Queues a transfer for the next batch.
+     *
+     * @return future completed once the transfer is committed, or exceptionally with the
+     *     {@link SQLException} that rejected it; fails with {@link RejectedExecutionException} after
+     *     {@link #close()}
+     */
+    public CompletableFuture<Void> submit(int fromId, int toId, int amount) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        if (closed) {
+            result.completeExceptionally(new RejectedExecutionException("Transfer service is closed"));
+            return result;
+        }
+        TransferRequest request = new TransferRequest(fromId, toId, amount, result);
+        queue.add(request);
+        // close() may have joined the worker and drained the queue between the check and the add;
+        // nobody else would complete a request that is still queued now.
+        if (closed && queue.remove(request)) {
+            result.completeExceptionally(new RejectedExecutionException("Transfer service is closed"));
+        }
+        return result;
+    }
+
+    /** @return number of transactions committed so far, each covering one or more transfers */
+    public long committedBatches() {
+        return committedBatches.sum();
+    }
+
+    /** Stops accepting transfers, processes everything already queued, and waits for the worker. */
+    @Override
+    public void close() throws SQLException {
+        closed = true;
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        RejectedExecutionException rejected = new RejectedExecutionException("Transfer service is closed");
+        TransferRequest late;
+        while ((late = queue.poll()) != null) {
+            late.result().completeExceptionally(rejected);
+        }
+        statements.close();
+    }
+
+    private void run() {
+        List<TransferRequest> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (!closed || !queue.isEmpty()) {
+                TransferRequest first = queue.poll(50, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    TransferRequest next = queue.poll(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                process(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            RejectedExecutionException rejected = new RejectedExecutionException("Transfer service stopped");
+            batch.forEach(request -> request.result().completeExceptionally(rejected));
+            queue.forEach(request -> request.result().completeExceptionally(rejected));
+        }
+    }
+
+    private void process(List<TransferRequest> batch) {
+        Connection connection = statements.connection();
+        try {
+            boolean oldAutoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                commitIsolatingFailures(new ArrayList<>(batch));
+            } finally {
+                connection.setAutoCommit(oldAutoCommit);
+            }
+        } catch (SQLException e) {
+            batch.forEach(request -> request.result().completeExceptionally(e));
+        }
+    }
+
+    /** Runs {@code pending} in one transaction, dropping and failing any transfer the database rejects. */
+    private void commitIsolatingFailures(List<TransferRequest> pending) throws SQLException {
+        Connection connection = statements.connection();
+        while (!pending.isEmpty()) {
+            int index = 0;
+            try {
+                for (; index < pending.size(); index++) {
+                    TransferRequest request = pending.get(index);
+                    TransactionExamples.executeTransfer(statements.prepare(TransactionExamples.WITHDRAW_SQL),
+                        statements.prepare(TransactionExamples.DEPOSIT_SQL), request.fromId(), request.toId(), request.amount());
+                }
+                connection.commit();
+                committedBatches.increment();
+                pending.forEach(request -> request.result().complete(null));
+                return;
+            } catch (SQLException e) {
+                connection.rollback();
+                if (index < pending.size()) {
+                    pending.remove(index).result().completeExceptionally(e);
+                } else {
+                    transferIndividually(pending);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void transferIndividually(List<TransferRequest> pending) {
+        for (TransferRequest request : pending) {
+            try {
+                TransactionExamples.transferTickets(statements, request.fromId(), request.toId(), request.amount());
+                committedBatches.increment();
+                request.result().complete(null);
+            } catch (SQLException e) {
+                request.result().completeExceptionally(e);
+            }
+        }
+    }
+}
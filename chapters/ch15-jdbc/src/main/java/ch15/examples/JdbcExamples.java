@@ -7,7 +7,13 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Demonstrates core JDBC operations from Chapter 15 "Working with JDBC" including establishing
@@ -17,9 +23,37 @@ import java.util.List;
  */
 public final class JdbcExamples {
 
+    /** Rows per transaction used by {@link #insertAnimals(Connection, List)}. */
+    public static final int DEFAULT_BATCH_SIZE = 1_000;
+
+    /** Rows fetched per driver round trip by {@link #streamAnimals(Connection)}. */
+    public static final int DEFAULT_FETCH_SIZE = 500;
+
+    private static final String QUERY_ANIMALS_SQL = "SELECT id, name FROM animal ORDER BY id";
+    private static final String INSERT_ANIMAL_SQL = "INSERT INTO animal (id, name) VALUES (?, ?)";
+
     private JdbcExamples() {
     }
 
+    /**
+     * Unchecked wrapper for a {@link SQLException} raised where checked exceptions cannot propagate,
+     * such as inside a {@link Stream} pipeline; the counterpart of
+     * {@link java.io.UncheckedIOException}.
+     */
+    public static class UncheckedSQLException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        public UncheckedSQLException(SQLException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized SQLException getCause() {
+            return (SQLException) super.getCause();
+        }
+    }
+
     /** Simple POJO representing a zoo animal row. */
     public static class ZooAnimal {
 
@@ -45,7 +79,7 @@ public final class JdbcExamples {
      */
     public static List<ZooAnimal> queryAnimals(Connection connection) throws SQLException {
         List<ZooAnimal> animals = new ArrayList<>();
-        try (Statement stmt = connection.createStatement(); ResultSet rs = stmt.executeQuery("SELECT id, name FROM animal ORDER BY id")) {
+        try (Statement stmt = connection.createStatement(); ResultSet rs = stmt.executeQuery(QUERY_ANIMALS_SQL)) {
             while (rs.next()) {
                 animals.add(new ZooAnimal(rs.getInt("id"), rs.getString("name")));
             }
@@ -53,12 +87,58 @@ public final class JdbcExamples {
         return animals;
     }
 
+    /** Streaming variant of {@link #queryAnimals(Connection)} using {@link #DEFAULT_FETCH_SIZE}. */
+    public static Stream<ZooAnimal> streamAnimals(Connection connection) throws SQLException {
+        return streamAnimals(connection, DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Returns the same rows as {@link #queryAnimals(Connection)} as a lazy {@link Stream} backed by
+     * the open {@link ResultSet}: rows are fetched from the driver {@code fetchSize} at a time as
+     * the stream is consumed, and column indices are resolved once instead of by name per row.
+     * Closing the stream closes the statement, so use it in a try-with-resources block. Driver
+     * errors during iteration are rethrown as {@link UncheckedSQLException}.
+     */
+    public static Stream<ZooAnimal> streamAnimals(Connection connection, int fetchSize) throws SQLException {
+        Statement stmt = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        try {
+            stmt.setFetchSize(fetchSize);
+            ResultSet rs = stmt.executeQuery(QUERY_ANIMALS_SQL);
+            int idColumn = rs.findColumn("id");
+            int nameColumn = rs.findColumn("name");
+            Spliterator<ZooAnimal> rows = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super ZooAnimal> action) {
+                    try {
+                        if (!rs.next()) {
+                            return false;
+                        }
+                        action.accept(new ZooAnimal(rs.getInt(idColumn), rs.getString(nameColumn)));
+                        return true;
+                    } catch (SQLException e) {
+                        throw new UncheckedSQLException(e);
+                    }
+                }
+            };
+            return StreamSupport.stream(rows, false).onClose(() -> {
+                try {
+                    stmt.close();
+                } catch (SQLException e) {
+                    throw new UncheckedSQLException(e);
+                }
+            });
+        } catch (SQLException | RuntimeException e) {
+            stmt.close();
+            throw e;
+        }
+    }
+
     /**
      * Inserts a record using a {@link PreparedStatement}, matching the chapter's parameterized
      * statement example.
      */
     public static int insertAnimal(Connection connection, ZooAnimal animal) throws SQLException {
-        try (PreparedStatement ps = connection.prepareStatement("INSERT INTO animal (id, name) VALUES (?, ?)", Statement.RETURN_GENERATED_KEYS)) {
+        try (PreparedStatement ps = connection.prepareStatement(INSERT_ANIMAL_SQL, Statement.RETURN_GENERATED_KEYS)) {
             ps.setInt(1, animal.getId());
             ps.setString(2, animal.getName());
             int updated = ps.executeUpdate();
@@ -66,6 +146,73 @@ public final class JdbcExamples {
         }
     }
 
+    /**
+     * Same insert as {@link #insertAnimal(Connection, ZooAnimal)}, reusing the statement kept in
+     * {@code cache} instead of preparing a new one per row.
+     */
+    public static int insertAnimal(StatementCache cache, ZooAnimal animal) throws SQLException {
+        PreparedStatement ps = cache.prepare(INSERT_ANIMAL_SQL);
+        ps.setInt(1, animal.getId());
+        ps.setString(2, animal.getName());
+        return ps.executeUpdate();
+    }
+
+    /**
+     * Bulk variant of {@link #insertAnimal(Connection, ZooAnimal)} using {@link #DEFAULT_BATCH_SIZE}.
+     */
+    public static int insertAnimals(Connection connection, List<ZooAnimal> animals) throws SQLException {
+        return insertAnimals(connection, animals.iterator(), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Inserts every animal through one reused {@link PreparedStatement}, sending rows with
+     * {@link PreparedStatement#addBatch()} / {@link PreparedStatement#executeBatch()} and committing
+     * each chunk of {@code batchSize} rows as its own transaction. If a chunk fails it is rolled back
+     * and the exception is rethrown; chunks committed before it stay in place. The previous
+     * auto-commit mode is restored afterwards.
+     *
+     * @return number of rows inserted
+     */
+    public static int insertAnimals(Connection connection, Iterator<ZooAnimal> animals, int batchSize) throws SQLException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        boolean oldAutoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        int inserted = 0;
+        try (PreparedStatement ps = connection.prepareStatement(INSERT_ANIMAL_SQL)) {
+            int pending = 0;
+            while (animals.hasNext()) {
+                ZooAnimal animal = animals.next();
+                ps.setInt(1, animal.getId());
+                ps.setString(2, animal.getName());
+                ps.addBatch();
+                if (++pending == batchSize) {
+                    inserted += commitBatch(connection, ps);
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                inserted += commitBatch(connection, ps);
+            }
+            return inserted;
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(oldAutoCommit);
+        }
+    }
+
+    private static int commitBatch(Connection connection, PreparedStatement ps) throws SQLException {
+        int rows = 0;
+        for (int count : ps.executeBatch()) {
+            rows += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+        }
+        connection.commit();
+        return rows;
+    }
+
     /** @return JDBC connection obtained via {@link DriverManager#getConnection(String)}. */
     public static Connection connect(String url) throws SQLException {
         return DriverManager.getConnection(url);
@@ -0,0 +1,119 @@
+package ch15.examples;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Least-recently-used cache of {@link PreparedStatement}s for one {@link Connection}, keyed by SQL
+ * text. Repeated calls such as {@link TransactionExamples#transferTickets(StatementCache, int, int, int)}
+ * then parse and plan each statement once per connection instead of once per call.
+ *
+ * <p>Statements handed out by {@link #prepare(String)} belong to the cache: callers must not close
+ * them. When the cache grows past {@code maxSize} the least recently used statement is evicted, but
+ * a caller may still be about to run it, as when one transaction holds more statements than
+ * {@code maxSize}. Evicted statements are therefore only closed by {@link #closeEvicted()}, which
+ * callers invoke once the unit of work that prepared them is over, or by {@link #close()}, which
+ * closes every statement but leaves the connection open. Like the connection it wraps, a cache must
+ * be confined to one thread at a time.
+ */
+public final class StatementCache implements AutoCloseable {
+
+    /** Default number of statements kept per connection. */
+    public static final int DEFAULT_MAX_SIZE = 32;
+
+    private final Connection connection;
+    private final int maxSize;
+    private final LinkedHashMap<String, PreparedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+    private final List<PreparedStatement> evicted = new ArrayList<>();
+
+    public StatementCache(Connection connection) {
+        this(connection, DEFAULT_MAX_SIZE);
+    }
+
+    public StatementCache(Connection connection, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.connection = Objects.requireNonNull(connection);
+        this.maxSize = maxSize;
+    }
+
+    /** @return connection the cached statements belong to */
+    public Connection connection() {
+        return connection;
+    }
+
+    /**
+     * @return cached statement for {@code sql} with its parameters cleared, preparing (and possibly
+     *     evicting the least recently used entry) on a miss
+     */
+    public PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement statement = statements.get(sql);
+        if (statement != null && !statement.isClosed()) {
+            statement.clearParameters();
+            return statement;
+        }
+        statement = connection.prepareStatement(sql);
+        statements.put(sql, statement);
+        Iterator<PreparedStatement> eldest = statements.values().iterator();
+        while (statements.size() > maxSize) {
+            evicted.add(eldest.next());
+            eldest.remove();
+        }
+        return statement;
+    }
+
+    /** @return number of statements currently cached, not counting evicted ones awaiting close */
+    public int size() {
+        return statements.size();
+    }
+
+    /**
+     * Closes the statements evicted since the last call. Call it once no statement handed out by
+     * {@link #prepare(String)} for the current unit of work is still in use; the first failure is
+     * rethrown after all are closed.
+     */
+    public void closeEvicted() throws SQLException {
+        SQLException failure = closeAll(evicted, null);
+        evicted.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /** Closes and forgets every cached and evicted statement; the first failure is rethrown after all are closed. */
+    @Override
+    public void close() throws SQLException {
+        SQLException failure = closeAll(evicted, closeAll(statements.values(), null));
+        statements.clear();
+        evicted.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static SQLException closeAll(Iterable<PreparedStatement> toClose, SQLException failure) {
+        for (PreparedStatement statement : toClose) {
+            failure = closeCollecting(statement, failure);
+        }
+        return failure;
+    }
+
+    private static SQLException closeCollecting(PreparedStatement statement, SQLException failure) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            if (failure == null) {
+                return e;
+            }
+            failure.addSuppressed(e);
+        }
+        return failure;
+    }
+}
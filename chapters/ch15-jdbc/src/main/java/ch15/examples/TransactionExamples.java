@@ -12,6 +12,9 @@ import java.sql.SQLException;
  */
 public final class TransactionExamples {
 
+    static final String WITHDRAW_SQL = "UPDATE tickets SET count = count - ? WHERE id = ?";
+    static final String DEPOSIT_SQL = "UPDATE tickets SET count = count + ? WHERE id = ?";
+
     private TransactionExamples() {
     }
 
@@ -22,13 +25,8 @@ public final class TransactionExamples {
     public static void transferTickets(Connection connection, int fromId, int toId, int amount) throws SQLException {
         boolean oldAutoCommit = connection.getAutoCommit();
         connection.setAutoCommit(false);
-        try (PreparedStatement withdraw = connection.prepareStatement("UPDATE tickets SET count = count - ? WHERE id = ?"); PreparedStatement deposit = connection.prepareStatement("UPDATE tickets SET count = count + ? WHERE id = ?")) {
-            withdraw.setInt(1, amount);
-            withdraw.setInt(2, fromId);
-            withdraw.executeUpdate();
-            deposit.setInt(1, amount);
-            deposit.setInt(2, toId);
-            deposit.executeUpdate();
+        try (PreparedStatement withdraw = connection.prepareStatement(WITHDRAW_SQL); PreparedStatement deposit = connection.prepareStatement(DEPOSIT_SQL)) {
+            executeTransfer(withdraw, deposit, fromId, toId, amount);
             connection.commit();
         } catch (SQLException e) {
             connection.rollback();
@@ -37,4 +35,45 @@ public final class TransactionExamples {
             connection.setAutoCommit(oldAutoCommit);
         }
     }
+
+    /**
+     * Same transaction as {@link #transferTickets(Connection, int, int, int)}, but the withdraw and
+     * deposit statements come from {@code cache} and stay prepared for the next call on that
+     * connection. Statements the cache evicted meanwhile are closed once the transfer is over.
+     */
+    public static void transferTickets(StatementCache cache, int fromId, int toId, int amount) throws SQLException {
+        Connection connection = cache.connection();
+        boolean oldAutoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            executeTransfer(cache.prepare(WITHDRAW_SQL), cache.prepare(DEPOSIT_SQL), fromId, toId, amount);
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(oldAutoCommit);
+            cache.closeEvicted();
+        }
+    }
+
+    /** Binds and runs both halves of a transfer; the caller owns the transaction. */
+    static void executeTransfer(PreparedStatement withdraw, PreparedStatement deposit, int fromId, int toId, int amount) throws SQLException {
+        withdraw.setInt(1, amount);
+        withdraw.setInt(2, fromId);
+        withdraw.executeUpdate();
+        deposit.setInt(1, amount);
+        deposit.setInt(2, toId);
+        deposit.executeUpdate();
+    }
+
+    /**
+     * Runs {@link #transferTickets(Connection, int, int, int)} on a connection borrowed from
+     * {@code pool}, returning it to the pool afterwards instead of opening a new one per transfer.
+     */
+    public static void transferTickets(ConnectionPool pool, int fromId, int toId, int amount) throws SQLException {
+        try (Connection connection = pool.borrow()) {
+            transferTickets(connection, fromId, toId, amount);
+        }
+    }
 }
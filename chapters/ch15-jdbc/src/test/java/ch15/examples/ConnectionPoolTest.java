@@ -0,0 +1,133 @@
+package ch15.examples;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sqlite.SQLiteConnection;
+
+class ConnectionPoolTest {
+
+    private Path databaseFile;
+    private String url;
+
+    @BeforeEach
+    void setup() throws Exception {
+        databaseFile = Files.createTempFile("pool", ".db");
+        url = "jdbc:sqlite:" + databaseFile;
+    }
+
+    @AfterEach
+    void cleanup() throws Exception {
+        Files.deleteIfExists(databaseFile);
+    }
+
+    private ConnectionPool pool(int maxSize, Duration maxLifetime, Duration idleTimeout) {
+        return new ConnectionPool(new ConnectionPool.Config(url, maxSize, Duration.ofMillis(100), maxLifetime, idleTimeout, Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void returnedConnectionIsReused() throws SQLException {
+        try (ConnectionPool pool = new ConnectionPool(ConnectionPool.Config.of(url, 2))) {
+            Connection physical;
+            try (Connection first = pool.borrow()) {
+                physical = ConnectionPool.physicalOf(first);
+                assertEquals(1, pool.metrics().active());
+            }
+            assertEquals(1, pool.metrics().idle());
+            try (Connection second = pool.borrow()) {
+                assertSame(physical, ConnectionPool.physicalOf(second));
+            }
+            assertEquals(2, pool.metrics().borrows());
+            assertEquals(0, pool.metrics().active());
+        }
+    }
+
+    @Test
+    void borrowTimesOutWhenExhausted() throws SQLException {
+        try (ConnectionPool pool = pool(1, Duration.ofMinutes(1), Duration.ofMinutes(1)); Connection held = pool.borrow()) {
+            assertFalse(held.isClosed());
+            assertThrows(SQLTimeoutException.class, pool::borrow);
+            assertTrue(pool.metrics().maxWaitNanos() >= Duration.ofMillis(100).toNanos());
+            assertEquals(1, pool.metrics().active());
+        }
+    }
+
+    @Test
+    void returnedHandleIsUnusableAndStateIsReset() throws SQLException {
+        try (ConnectionPool pool = pool(1, Duration.ofMinutes(1), Duration.ofMinutes(1))) {
+            Connection connection = pool.borrow();
+            connection.setAutoCommit(false);
+            connection.close();
+            connection.close();
+            assertTrue(connection.isClosed());
+            assertThrows(SQLException.class, connection::createStatement);
+            try (Connection again = pool.borrow()) {
+                assertTrue(again.getAutoCommit());
+            }
+        }
+    }
+
+    @Test
+    void unwrapDoesNotExposeThePhysicalConnection() throws SQLException {
+        try (ConnectionPool pool = pool(1, Duration.ofMinutes(1), Duration.ofMinutes(1)); Connection connection = pool.borrow()) {
+            assertSame(connection, connection.unwrap(Connection.class));
+            assertTrue(connection.isWrapperFor(Connection.class));
+            assertFalse(connection.isWrapperFor(SQLiteConnection.class));
+            assertThrows(SQLException.class, () -> connection.unwrap(SQLiteConnection.class));
+        }
+    }
+
+    @Test
+    void expiredAndIdleConnectionsAreRetired() throws Exception {
+        try (ConnectionPool pool = pool(2, Duration.ofMillis(20), Duration.ofMinutes(1))) {
+            Connection physical;
+            try (Connection first = pool.borrow()) {
+                physical = ConnectionPool.physicalOf(first);
+            }
+            Thread.sleep(40);
+            try (Connection second = pool.borrow()) {
+                assertNotSame(physical, ConnectionPool.physicalOf(second));
+            }
+            assertTrue(physical.isClosed());
+        }
+        try (ConnectionPool pool = pool(2, Duration.ofMinutes(1), Duration.ofMillis(20))) {
+            pool.borrow().close();
+            Thread.sleep(40);
+            pool.evictIdle();
+            assertEquals(0, pool.metrics().idle());
+        }
+    }
+
+    @Test
+    void transferTicketsRunsOnPooledConnection() throws SQLException {
+        try (ConnectionPool pool = new ConnectionPool(ConnectionPool.Config.of(url, 2))) {
+            try (Connection connection = pool.borrow(); Statement stmt = connection.createStatement()) {
+                stmt.executeUpdate("CREATE TABLE tickets (id INTEGER PRIMARY KEY, count INTEGER NOT NULL)");
+                stmt.executeUpdate("INSERT INTO tickets (id, count) VALUES (1, 10), (2, 5)");
+            }
+            TransactionExamples.transferTickets(pool, 1, 2, 4);
+            try (Connection connection = pool.borrow(); Statement stmt = connection.createStatement(); var rs = stmt.executeQuery("SELECT count FROM tickets ORDER BY id")) {
+                rs.next();
+                assertEquals(6, rs.getInt(1));
+                rs.next();
+                assertEquals(9, rs.getInt(1));
+            }
+            assertEquals(1, pool.metrics().idle());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package ch15.examples;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class GroupCommitTransferServiceTest {
+
+    private Connection connection;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("CREATE TABLE tickets (id INTEGER PRIMARY KEY, count INTEGER NOT NULL CHECK (count >= 0))");
+            stmt.executeUpdate("INSERT INTO tickets (id, count) VALUES (1, 10)");
+            stmt.executeUpdate("INSERT INTO tickets (id, count) VALUES (2, 5)");
+        }
+    }
+
+    @AfterEach
+    void cleanup() throws SQLException {
+        connection.close();
+    }
+
+    private int count(int id) throws SQLException {
+        try (Statement stmt = connection.createStatement(); var rs = stmt.executeQuery("SELECT count FROM tickets WHERE id=" + id)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    @Test
+    void transfersWithinWindowShareOneCommit() throws Exception {
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        try (GroupCommitTransferService service = new GroupCommitTransferService(connection, 50, Duration.ofMillis(500))) {
+            for (int i = 0; i < 20; i++) {
+                results.add(service.submit(i % 2 == 0 ? 1 : 2, i % 2 == 0 ? 2 : 1, 1));
+            }
+            CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get();
+            assertEquals(1, service.committedBatches());
+        }
+        assertEquals(10, count(1));
+        assertEquals(5, count(2));
+    }
+
+    @Test
+    void failedTransferIsIsolatedFromTheRestOfTheBatch() throws Exception {
+        try (GroupCommitTransferService service = new GroupCommitTransferService(connection, 10, Duration.ofMillis(500))) {
+            CompletableFuture<Void> first = service.submit(1, 2, 3);
+            CompletableFuture<Void> overdraft = service.submit(2, 1, 100);
+            CompletableFuture<Void> last = service.submit(1, 2, 2);
+            first.get();
+            last.get();
+            ExecutionException failure = assertThrows(ExecutionException.class, overdraft::get);
+            assertInstanceOf(SQLException.class, failure.getCause());
+        }
+        assertEquals(5, count(1));
+        assertEquals(10, count(2));
+    }
+
+    @Test
+    @Timeout(30)
+    void submitsRacingCloseAllComplete() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            GroupCommitTransferService service = new GroupCommitTransferService(connection, 10, Duration.ofMillis(1));
+            List<CompletableFuture<Void>> results = Collections.synchronizedList(new ArrayList<>());
+            Thread submitter = new Thread(() -> {
+                for (int i = 0; i < 200; i++) {
+                    results.add(service.submit(i % 2 == 0 ? 1 : 2, i % 2 == 0 ? 2 : 1, 1));
+                }
+            });
+            submitter.start();
+            service.close();
+            submitter.join();
+            assertEquals(200, results.size());
+            for (CompletableFuture<Void> result : results) {
+                try {
+                    result.get(5, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    assertInstanceOf(RejectedExecutionException.class, e.getCause());
+                }
+            }
+        }
+    }
+
+    @Test
+    void submitAfterCloseIsRejected() throws Exception {
+        GroupCommitTransferService service = new GroupCommitTransferService(connection, 10, Duration.ofMillis(10));
+        service.close();
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> service.submit(1, 2, 1).get());
+        assertInstanceOf(RejectedExecutionException.class, failure.getCause());
+    }
+}
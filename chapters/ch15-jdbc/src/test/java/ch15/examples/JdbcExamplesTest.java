@@ -1,12 +1,24 @@
 package ch15.examples;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -38,8 +50,78 @@ class JdbcExamplesTest {
         assertEquals("lion", animals.get(0).getName());
     }
 
+    @Test
+    void batchedInsertCommitsEveryChunk() throws Exception {
+        List<JdbcExamples.ZooAnimal> animals = IntStream.rangeClosed(1, 2_500).mapToObj(i -> new JdbcExamples.ZooAnimal(i, "animal" + i)).toList();
+        assertEquals(2_500, JdbcExamples.insertAnimals(connection, animals.iterator(), 1_000));
+        assertEquals(2_500, JdbcExamples.queryAnimals(connection).size());
+        assertTrue(connection.getAutoCommit());
+    }
+
+    @Test
+    void failedChunkIsRolledBackAndEarlierChunksKept() throws Exception {
+        List<JdbcExamples.ZooAnimal> animals = List.of(
+            new JdbcExamples.ZooAnimal(1, "lion"), new JdbcExamples.ZooAnimal(2, "tiger"),
+            new JdbcExamples.ZooAnimal(3, "bear"), new JdbcExamples.ZooAnimal(1, "duplicate"));
+        assertThrows(SQLException.class, () -> JdbcExamples.insertAnimals(connection, animals.iterator(), 2));
+        assertEquals(2, JdbcExamples.queryAnimals(connection).size());
+    }
+
+    @Test
+    void streamAnimalsFetchesRowsOnDemandAndClosesTheStatement() throws Exception {
+        JdbcExamples.insertAnimals(connection, IntStream.rangeClosed(1, 50).mapToObj(i -> new JdbcExamples.ZooAnimal(i, "animal" + i)).toList());
+        AtomicInteger rowsFetched = new AtomicInteger();
+        List<Statement> statements = new ArrayList<>();
+        Connection counting = countingRowFetches(connection, rowsFetched, statements);
+        try (Stream<JdbcExamples.ZooAnimal> animals = JdbcExamples.streamAnimals(counting, 10)) {
+            assertEquals(0, rowsFetched.get());
+            assertEquals(List.of("animal1", "animal2"), animals.limit(2).map(JdbcExamples.ZooAnimal::getName).toList());
+            assertEquals(2, rowsFetched.get());
+            assertFalse(statements.get(0).isClosed());
+        }
+        assertTrue(statements.get(0).isClosed());
+        try (Stream<JdbcExamples.ZooAnimal> animals = JdbcExamples.streamAnimals(connection)) {
+            assertEquals(JdbcExamples.queryAnimals(connection).size(), animals.count());
+        }
+    }
+
     @Test
     void connectionFailsWithInvalidUrl() {
         assertThrows(Exception.class, () -> JdbcExamples.connect("jdbc:invalid:url"));
     }
+
+    /**
+     * @return view of {@code connection} that collects the statements it creates and counts
+     *     {@link ResultSet#next()} calls on their result sets
+     */
+    private static Connection countingRowFetches(Connection connection, AtomicInteger rowsFetched, List<Statement> statements) {
+        return forwarding(Connection.class, connection, (method, result) -> {
+            if (!(result instanceof Statement statement)) {
+                return result;
+            }
+            statements.add(statement);
+            return forwarding(Statement.class, statement, (statementMethod, statementResult) -> {
+                if (!(statementResult instanceof ResultSet rs)) {
+                    return statementResult;
+                }
+                return forwarding(ResultSet.class, rs, (rsMethod, rsResult) -> {
+                    if (rsMethod.getName().equals("next")) {
+                        rowsFetched.incrementAndGet();
+                    }
+                    return rsResult;
+                });
+            });
+        });
+    }
+
+    /** @return proxy passing every call to {@code target} and its result through {@code after} */
+    private static <T> T forwarding(Class<T> type, T target, BiFunction<Method, Object, Object> after) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            try {
+                return after.apply(method, method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }));
+    }
 }
@@ -0,0 +1,96 @@
+package ch15.examples;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StatementCacheTest {
+
+    private Connection connection;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("CREATE TABLE animal (id INTEGER PRIMARY KEY, name TEXT NOT NULL)");
+            stmt.executeUpdate("CREATE TABLE tickets (id INTEGER PRIMARY KEY, count INTEGER NOT NULL)");
+            stmt.executeUpdate("INSERT INTO tickets (id, count) VALUES (1, 10), (2, 5)");
+        }
+    }
+
+    @AfterEach
+    void cleanup() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void reusesStatementsAndClosesLeastRecentlyUsedOnceEvictedAreReleased() throws SQLException {
+        try (StatementCache cache = new StatementCache(connection, 2)) {
+            PreparedStatement first = cache.prepare("SELECT 1");
+            PreparedStatement second = cache.prepare("SELECT 2");
+            assertSame(first, cache.prepare("SELECT 1"));
+            cache.prepare("SELECT 3");
+            assertEquals(2, cache.size());
+            assertFalse(second.isClosed());
+            cache.closeEvicted();
+            assertTrue(second.isClosed());
+            assertSame(first, cache.prepare("SELECT 1"));
+            first.close();
+            assertNotSame(first, cache.prepare("SELECT 1"));
+        }
+    }
+
+    @Test
+    void transferSucceedsWhenItHoldsMoreStatementsThanTheCacheKeeps() throws SQLException {
+        try (StatementCache cache = new StatementCache(connection, 1)) {
+            TransactionExamples.transferTickets(cache, 1, 2, 3);
+            TransactionExamples.transferTickets(cache, 1, 2, 3);
+            assertEquals(1, cache.size());
+        }
+        try (Statement stmt = connection.createStatement(); var rs = stmt.executeQuery("SELECT count FROM tickets WHERE id=1")) {
+            rs.next();
+            assertEquals(4, rs.getInt(1));
+        }
+    }
+
+    @Test
+    void closeReleasesAllStatementsButNotTheConnection() throws SQLException {
+        StatementCache cache = new StatementCache(connection, 1);
+        PreparedStatement statement = cache.prepare("SELECT 1");
+        PreparedStatement evicted = cache.prepare("SELECT 2");
+        cache.prepare("SELECT 3");
+        cache.close();
+        assertTrue(statement.isClosed());
+        assertTrue(evicted.isClosed());
+        assertEquals(0, cache.size());
+        assertTrue(connection.isValid(1));
+    }
+
+    @Test
+    void examplesRunThroughTheCache() throws SQLException {
+        try (StatementCache cache = new StatementCache(connection)) {
+            JdbcExamples.insertAnimal(cache, new JdbcExamples.ZooAnimal(1, "lion"));
+            JdbcExamples.insertAnimal(cache, new JdbcExamples.ZooAnimal(2, "tiger"));
+            TransactionExamples.transferTickets(cache, 1, 2, 3);
+            TransactionExamples.transferTickets(cache, 1, 2, 3);
+            assertEquals(3, cache.size());
+        }
+        assertEquals(2, JdbcExamples.queryAnimals(connection).size());
+        try (Statement stmt = connection.createStatement(); var rs = stmt.executeQuery("SELECT count FROM tickets WHERE id=2")) {
+            rs.next();
+            assertEquals(11, rs.getInt(1));
+        }
+    }
+}